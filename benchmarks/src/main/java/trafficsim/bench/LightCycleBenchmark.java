@@ -0,0 +1,65 @@
+/*
+ * File: LightCycleBenchmark.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: JMH benchmark for traffic light cycling.
+ *          Measures one simulated second of the timer wheel for many lights,
+ *          and a single TrafficLight.cycle() call.
+ */
+
+package trafficsim.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import trafficsim.LightColor;
+import trafficsim.LightScheduler;
+import trafficsim.TrafficLight;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LightCycleBenchmark {
+  @Param({"100", "10000", "100000"})
+  public int lights;
+
+  private LightScheduler scheduler;
+  private TrafficLight single;
+
+  @Setup
+  public void setUp() {
+    scheduler = new LightScheduler();
+    for (int i = 0; i < lights; i++) {
+      TrafficLight light = new TrafficLight((i + 1) * 1000, LightColor.GREEN, "Light " + (i + 1));
+      light.setOffset(i);  // Spread transitions over the whole cycle
+      scheduler.add(light);
+    }
+    single = new TrafficLight(1000, LightColor.GREEN, "Light 1");
+  }
+
+  // One simulated second for every light
+  @Benchmark
+  public int schedulerAdvance() {
+    return scheduler.advance();
+  }
+
+  @Benchmark
+  public LightColor cycle() {
+    single.cycle();
+    return single.getColor();
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * File: LightLookupBenchmark.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: JMH benchmark for next-light lookup cost against light count.
+ *          Compares the LightIndex binary search with the old linear scan.
+ */
+
+package trafficsim.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import trafficsim.LightColor;
+import trafficsim.LightIndex;
+import trafficsim.TrafficLight;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LightLookupBenchmark {
+  @Param({"10", "100", "1000", "10000", "100000"})
+  public int lights;
+
+  private static final int PROBES = 1024;  // Power of two
+  private LightIndex index;
+  private int[] probes;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+
+    // Insert in shuffled order to exercise sorted insertion
+    int[] order = new int[lights];
+    for (int i = 0; i < lights; i++) {
+      order[i] = i;
+    }
+    for (int i = lights - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int t = order[i];
+      order[i] = order[j];
+      order[j] = t;
+    }
+    index = new LightIndex();
+    for (int i : order) {
+      index.add(new TrafficLight((i + 1) * 1000, LightColor.GREEN, "Light " + (i + 1)));
+    }
+
+    probes = new int[PROBES];
+    for (int i = 0; i < PROBES; i++) {
+      probes[i] = random.nextInt(lights * 1000 + 1000);
+    }
+  }
+
+  @Benchmark
+  public TrafficLight binarySearch() {
+    return index.nextLightAfter(probes[next++ & (PROBES - 1)]);
+  }
+
+  // The scan CarThread used before the index existed
+  @Benchmark
+  public TrafficLight linearScan() {
+    int x = probes[next++ & (PROBES - 1)];
+    for (int i = 0; i < index.size(); i++) {
+      if (index.getPosition(i) > x) {
+        return index.get(i);
+      }
+    }
+    return null;
+  }
+}
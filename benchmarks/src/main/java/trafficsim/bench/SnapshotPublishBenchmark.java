@@ -0,0 +1,72 @@
+/*
+ * File: SnapshotPublishBenchmark.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: JMH benchmark for the GUI snapshot pipeline.
+ *          Measures the cost of publishing a snapshot and of publishing then taking it.
+ */
+
+package trafficsim.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import trafficsim.CarStore;
+import trafficsim.LightColor;
+import trafficsim.SimulationSnapshot;
+import trafficsim.SnapshotBuffer;
+import trafficsim.TrafficLight;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotPublishBenchmark {
+  @Param({"1000", "100000", "1000000"})
+  public int cars;
+
+  private CarStore store;
+  private List<TrafficLight> lights;
+  private SnapshotBuffer buffer;
+  private int seconds;
+
+  @Setup
+  public void setUp() {
+    store = new CarStore(cars);
+    for (int i = 0; i < cars; i++) {
+      store.add(100 + (i % 11) * 10);
+    }
+    lights = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      lights.add(new TrafficLight((i + 1) * 1000, LightColor.GREEN, "Light " + (i + 1)));
+    }
+    buffer = new SnapshotBuffer();
+  }
+
+  @Benchmark
+  public void publish() {
+    buffer.publish(++seconds, store, lights);
+  }
+
+  // What one GUI frame costs end to end when a new tick is always waiting
+  @Benchmark
+  public SimulationSnapshot publishAndTake() {
+    buffer.publish(++seconds, store, lights);
+    return buffer.latest();
+  }
+}
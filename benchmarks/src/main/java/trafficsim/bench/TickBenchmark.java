@@ -0,0 +1,83 @@
+/*
+ * File: TickBenchmark.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: JMH benchmark for engine tick throughput.
+ *          Reports cars advanced per second for 1k, 100k and 1M cars, sequential
+ *          and sharded across a fork-join pool.
+ */
+
+package trafficsim.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import trafficsim.SimulationEngine;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TickBenchmark {
+  @Param({"1000", "100000", "1000000"})
+  public int cars;
+
+  @Param({"20"})
+  public int lights;
+
+  @Param({"1", "4"})
+  public int workers;  // 1 = sequential tick, more = fork-join shards
+
+  private SimulationEngine engine;
+
+  // Cars advanced, reported by JMH as a rate next to ticks/s
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Advanced {
+    public long carsAdvanced;
+
+    @Setup(Level.Iteration)
+    public void clear() {
+      carsAdvanced = 0;
+    }
+  }
+
+  // Fresh engine per iteration so positions never overflow
+  @Setup(Level.Iteration)
+  public void setUp() {
+    engine = new SimulationEngine(workers);
+    for (int i = 0; i < lights; i++) {
+      engine.addNextLight();
+    }
+    for (int i = 0; i < cars; i++) {
+      engine.addCar(100 + (i % 11) * 10, i % SimulationEngine.LANES);
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    engine.shutdown();
+  }
+
+  @Benchmark
+  public void tick(Advanced counter) {
+    engine.tick();
+    counter.carsAdvanced += cars;
+  }
+}
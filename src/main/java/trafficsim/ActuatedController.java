@@ -0,0 +1,48 @@
+/*
+ * File: ActuatedController.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Actuated signal control driven by the queue on each light's approach.
+ *          A green lasts at least minGreen seconds. After that it is extended by
+ *          extension seconds at a time while cars are still stopped in the approach
+ *          zone, up to maxGreen, and skips to yellow (then red) as soon as the queue
+ *          is gone. Yellow and red keep the light's own durations, so cross traffic
+ *          still gets its time.
+ */
+
+package trafficsim;
+
+public class ActuatedController implements SignalController {
+  // Fields
+  private final int minGreen;
+  private final int maxGreen;
+  private final int extension;
+
+  // Final fields (defaults in seconds). The minimum is half the fixed green, so a
+  // green on an empty approach gaps out early and the time goes to the red phase.
+  public static final int MINGREEN = TrafficLight.GREENDURATION / 2;
+  public static final int MAXGREEN = 30;
+  public static final int EXTENSION = 2;
+
+  // Constructors
+  public ActuatedController() {
+    this(MINGREEN, MAXGREEN, EXTENSION);
+  }
+
+  public ActuatedController(int minGreen, int maxGreen, int extension) {
+    if (minGreen < 1 || maxGreen < minGreen || extension < 1) {
+      throw new IllegalArgumentException("Need 1 <= minGreen <= maxGreen and extension >= 1");
+    }
+    this.minGreen = minGreen;
+    this.maxGreen = maxGreen;
+    this.extension = extension;
+  }
+
+  public int onTimer(TrafficLight light, int elapsed, int queue) {
+    if (light.isGreen() && queue > 0 && elapsed < maxGreen) {
+      return Math.min(extension, maxGreen - elapsed);  // Keep serving the queue
+    }
+    light.cycle();
+    return light.isGreen() ? minGreen : light.getDuration(light.getColor());
+  }
+}
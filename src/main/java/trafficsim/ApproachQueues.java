@@ -0,0 +1,76 @@
+/*
+ * File: ApproachQueues.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Number of cars stopped in each light's approach zone, kept up to date by
+ *          the car tick instead of rescanning the cars.
+ *          Each car remembers which light's queue it is counted in; the tick reports
+ *          the queue the car is in now and the counters change only when that differs,
+ *          which is rare. Counters are atomic so parallel shards can update them;
+ *          the per-car entry is only written by the shard that owns the car.
+ *          Lights are keyed by their id (insertion order), which never changes.
+ */
+
+package trafficsim;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ApproachQueues {
+  // Final fields
+  public static final int NONE = -1;        // Not stopped in any approach zone
+  public static final int APPROACHZONE = 200;  // Meters before a light that count as its queue
+
+  // Fields
+  private AtomicIntegerArray counts = new AtomicIntegerArray(8);
+  private int[] carLight = new int[16];  // Light id each car is counted at, or NONE
+
+  // Constructor
+  public ApproachQueues() {
+    Arrays.fill(carLight, NONE);
+  }
+
+  // Make room for light ids below lights (between ticks)
+  public void ensureLights(int lights) {
+    if (lights > counts.length()) {
+      AtomicIntegerArray grown = new AtomicIntegerArray(Math.max(lights, counts.length() * 2));
+      for (int k = 0; k < counts.length(); k++) {
+        grown.set(k, counts.get(k));
+      }
+      counts = grown;
+    }
+  }
+
+  // Make room for car indices below cars (between ticks)
+  public void ensureCars(int cars) {
+    if (cars > carLight.length) {
+      int old = carLight.length;
+      carLight = Arrays.copyOf(carLight, Math.max(cars, old * 2));
+      Arrays.fill(carLight, old, carLight.length, NONE);
+    }
+  }
+
+  // Car tick: the car is now queued at the given light id (or NONE)
+  public void update(int car, int light) {
+    int old = carLight[car];
+    if (old != light) {
+      if (old != NONE) {
+        counts.decrementAndGet(old);
+      }
+      if (light != NONE) {
+        counts.incrementAndGet(light);
+      }
+      carLight[car] = light;
+    }
+  }
+
+  // The car left the road
+  public void forget(int car) {
+    update(car, NONE);
+  }
+
+  // Cars stopped in the approach zone of the light with this id
+  public int get(int light) {
+    return light < counts.length() ? counts.get(light) : 0;
+  }
+}
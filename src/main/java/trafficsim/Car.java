@@ -0,0 +1,100 @@
+/*
+ * File: Car.java
+ * Date: 12/9/2025
+ * Author: Eric Sampson
+ * Purpose: Model class representing a car in the traffic simulation.
+ *          Lightweight view of one row in a CarStore: position, speed, and status
+ *          live in the store's primitive arrays. Provides methods for movement control.
+ *          Per-entity car threads work through this view while the GUI may add cars,
+ *          which can swap in grown arrays, so every access holds the store's lock.
+ */
+
+package trafficsim;
+
+public class Car {
+  // Fields
+  private final CarStore store;
+  private final int index;
+
+  // Constructor
+  public Car(CarStore store, int index) {
+    this.store = store;
+    this.index = index;
+  }
+
+  // Behavior
+  public void move() {
+    synchronized (store) {
+      store.move(index);
+    }
+  }
+
+  public void stop() {
+    synchronized (store) {
+      store.stop(index);
+    }
+  }
+
+  public void go() {
+    synchronized (store) {
+      store.go(index);  // Restore original speed
+    }
+  }
+
+  // Leave the road; the slot can be reused by a new car
+  public void retire() {
+    store.retire(index);
+  }
+
+  public boolean isRetired() {
+    synchronized (store) {
+      return store.getStatus(index) == CarStore.RETIRED;
+    }
+  }
+
+  // Reset car to initial state
+  public void reset() {
+    synchronized (store) {
+      store.reset(index);
+    }
+  }
+
+  // Getters
+  public int getIndex() {
+    return index;
+  }
+
+  public int getX() {
+    synchronized (store) {
+      return store.getX(index);
+    }
+  }
+
+  public int getY() {
+    synchronized (store) {
+      return store.getY(index);
+    }
+  }
+
+  public String getName() {
+    return "Car " + (index + 1);
+  }
+
+  public int getSpeed() {
+    synchronized (store) {
+      return store.getSpeed(index);
+    }
+  }
+
+  public String getStatus() {
+    synchronized (store) {
+      return CarStore.statusName(store.getStatus(index));
+    }
+  }
+
+  public int getOriginalSpeed() {
+    synchronized (store) {
+      return store.getOriginalSpeed(index);
+    }
+  }
+}
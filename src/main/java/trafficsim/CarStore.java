@@ -0,0 +1,288 @@
+/*
+ * File: CarStore.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Structure-of-arrays storage for every car in the simulation.
+ *          Keeps x, y, speed, original speed and status in parallel primitive arrays
+ *          that grow on demand, so a tick is a linear scan with no per-car objects.
+ *          Retired cars (past the exit) leave their slot on a free list; new cars take
+ *          the lowest free slot first and retired slots at the end are trimmed off, so
+ *          size() tracks the live cars rather than every car ever added.
+ */
+
+package trafficsim;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class CarStore {
+  // Status codes
+  public static final byte WAITING = 0;
+  public static final byte MOVING = 1;
+  public static final byte STOPPED = 2;
+  public static final byte ARRIVED = 3;  // Reached the end of its route (road network)
+  public static final byte RETIRED = 4;  // Left the road, slot free for reuse
+
+  // Display names, indexed by status code
+  private static final String[] STATUS_NAMES = {"WAITING", "MOVING", "STOPPED", "ARRIVED", "RETIRED"};
+
+  // Fields
+  private int size;
+  private int[] x;
+  private int[] y;
+  private int[] speed;
+  private int[] originalSpeed;  // Stored for restoration after a stop
+  private byte[] status;
+  private final BitSet freeSlots = new BitSet();  // Retired slots below size
+  private int freeHint;                           // No free slot below this index
+  private int retired;                            // Retired slots below size
+
+  // Final fields
+  public static final int DEFAULTCAPACITY = 16;
+
+  // Constructors
+  public CarStore() {
+    this(DEFAULTCAPACITY);
+  }
+
+  public CarStore(int capacity) {
+    capacity = Math.max(1, capacity);
+    x = new int[capacity];
+    y = new int[capacity];
+    speed = new int[capacity];
+    originalSpeed = new int[capacity];
+    status = new byte[capacity];
+  }
+
+  // Add a waiting car at the origin and return its index
+  public int add(int carSpeed) {
+    return add(carSpeed, 0);
+  }
+
+  // Add a waiting car at x = 0 and the given y (lane offset) and return its index,
+  // reusing the lowest retired slot if there is one
+  public synchronized int add(int carSpeed, int carY) {
+    int i = takeFreeSlot();
+    if (i < 0) {
+      ensureCapacity(size + 1);
+      i = size++;
+    }
+    place(i, carSpeed, carY);
+    return i;
+  }
+
+  // Add count waiting cars at x = 0 in one batch: retired slots first, then the rest
+  // appended with at most one array growth
+  public synchronized void addAll(int[] carSpeeds, int[] carYs, int count) {
+    int k = 0;
+    for (int i; k < count && (i = takeFreeSlot()) >= 0; k++) {
+      place(i, carSpeeds[k], carYs[k]);
+    }
+    ensureCapacity(size + count - k);
+    for (; k < count; k++) {
+      place(size++, carSpeeds[k], carYs[k]);
+    }
+  }
+
+  private void place(int i, int carSpeed, int carY) {
+    x[i] = 0;
+    y[i] = carY;
+    speed[i] = carSpeed;
+    originalSpeed[i] = carSpeed;
+    status[i] = WAITING;
+  }
+
+  // Take a car off the road and put its slot on the free list
+  public synchronized void retire(int i) {
+    if (status[i] == RETIRED) {
+      return;
+    }
+    x[i] = 0;
+    speed[i] = 0;
+    status[i] = RETIRED;
+    freeSlots.set(i);
+    freeHint = Math.min(freeHint, i);
+    retired++;
+
+    // Trim retired slots off the end so scans stop at the last live car
+    while (size > 0 && status[size - 1] == RETIRED) {
+      size--;
+      freeSlots.clear(size);
+      retired--;
+    }
+    freeHint = Math.min(freeHint, size);
+  }
+
+  // Lowest free slot, removed from the free list, or -1 if there is none
+  private int takeFreeSlot() {
+    if (retired == 0) {
+      return -1;
+    }
+    int i = freeSlots.nextSetBit(freeHint);
+    freeSlots.clear(i);
+    freeHint = i + 1;
+    retired--;
+    return i;
+  }
+
+  // Rebuild the free list from the status column (after reading columns)
+  private void rebuildFreeSlots() {
+    freeSlots.clear();
+    retired = 0;
+    for (int i = 0; i < size; i++) {
+      if (status[i] == RETIRED) {
+        freeSlots.set(i);
+        retired++;
+      }
+    }
+    freeHint = 0;
+  }
+
+  // Grow the arrays so at least minCapacity cars fit. Swaps in new arrays, so threads
+  // other than the engine (per-entity car threads) must hold the store's lock, as Car does.
+  public synchronized void ensureCapacity(int minCapacity) {
+    if (minCapacity <= x.length) {
+      return;
+    }
+    int capacity = Math.max(minCapacity, x.length * 2);
+    x = Arrays.copyOf(x, capacity);
+    y = Arrays.copyOf(y, capacity);
+    speed = Arrays.copyOf(speed, capacity);
+    originalSpeed = Arrays.copyOf(originalSpeed, capacity);
+    status = Arrays.copyOf(status, capacity);
+  }
+
+  // Behavior (same semantics as Car.move/stop/go/reset)
+  public void move(int i) {
+    x[i] += speed[i];
+    status[i] = MOVING;
+  }
+
+  public void stop(int i) {
+    speed[i] = 0;
+    status[i] = STOPPED;
+  }
+
+  // Move to a new position, with speed = distance covered this tick
+  public void moveTo(int i, int newX) {
+    speed[i] = newX - x[i];
+    x[i] = newX;
+    status[i] = MOVING;
+  }
+
+  // Place the car at newX, newY on a new road segment after covering distance this tick
+  public void enter(int i, int newX, int newY, int distance) {
+    x[i] = newX;
+    y[i] = newY;
+    speed[i] = distance;
+    status[i] = MOVING;
+  }
+
+  public void arrive(int i) {
+    speed[i] = 0;
+    status[i] = ARRIVED;
+  }
+
+  public void go(int i) {
+    speed[i] = originalSpeed[i];
+    status[i] = MOVING;
+  }
+
+  // Back to the start of the road, keeping the car's lane (y); retired cars stay retired
+  public void reset(int i) {
+    if (status[i] == RETIRED) {
+      return;
+    }
+    x[i] = 0;
+    speed[i] = originalSpeed[i];
+    status[i] = WAITING;
+  }
+
+  public void resetAll() {
+    for (int i = 0; i < size; i++) {
+      reset(i);
+    }
+  }
+
+  // Copy the first size() cars into the given arrays
+  public void copyColumns(int[] xOut, int[] yOut, int[] speedOut, byte[] statusOut) {
+    System.arraycopy(x, 0, xOut, 0, size);
+    System.arraycopy(y, 0, yOut, 0, size);
+    System.arraycopy(speed, 0, speedOut, 0, size);
+    System.arraycopy(status, 0, statusOut, 0, size);
+  }
+
+  // Write every column of the first size() cars to buf (x, y, speed, original speed, status)
+  public void writeColumns(ByteBuffer buf) {
+    putInts(buf, x);
+    putInts(buf, y);
+    putInts(buf, speed);
+    putInts(buf, originalSpeed);
+    buf.put(status, 0, size);
+  }
+
+  // Replace every car with count cars read from buf in the writeColumns layout
+  public void readColumns(ByteBuffer buf, int count) {
+    size = 0;
+    ensureCapacity(count);
+    size = count;
+    getInts(buf, x);
+    getInts(buf, y);
+    getInts(buf, speed);
+    getInts(buf, originalSpeed);
+    buf.get(status, 0, size);
+    rebuildFreeSlots();
+  }
+
+  private void putInts(ByteBuffer buf, int[] column) {
+    buf.asIntBuffer().put(column, 0, size);
+    buf.position(buf.position() + 4 * size);
+  }
+
+  private void getInts(ByteBuffer buf, int[] column) {
+    buf.asIntBuffer().get(column, 0, size);
+    buf.position(buf.position() + 4 * size);
+  }
+
+  // Helper to convert a status code to its display name
+  public static String statusName(byte code) {
+    return STATUS_NAMES[code];
+  }
+
+  // Getters
+  // Slots in use, live or retired (cars are at indices below this)
+  public int size() {
+    return size;
+  }
+
+  // Cars still on the road
+  public int getActiveCount() {
+    return size - retired;
+  }
+
+  public int getX(int i) {
+    return x[i];
+  }
+
+  public int getY(int i) {
+    return y[i];
+  }
+
+  public int getSpeed(int i) {
+    return speed[i];
+  }
+
+  public int getOriginalSpeed(int i) {
+    return originalSpeed[i];
+  }
+
+  public byte getStatus(int i) {
+    return status[i];
+  }
+
+  // Lightweight view of one car
+  public Car get(int i) {
+    return new Car(this, i);
+  }
+}
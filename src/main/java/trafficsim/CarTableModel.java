@@ -0,0 +1,63 @@
+/*
+ * File: CarTableModel.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Table model for the car status table.
+ *          Reads cells on demand from the latest simulation snapshot instead of storing
+ *          them, and only reports changes for the rows currently on screen.
+ */
+
+package trafficsim;
+
+import javax.swing.table.AbstractTableModel;
+
+public class CarTableModel extends AbstractTableModel {
+  // Fields
+  private static final long serialVersionUID = 1L;
+  private static final String[] COLUMNS = {"Car", "X (m)", "Y (m)", "Speed (m/s)", "Status"};
+  private SimulationSnapshot snapshot = new SimulationSnapshot();
+  private int rowCount;
+
+  // Switch to a new snapshot and fire events for row count changes and visible rows
+  public void update(SimulationSnapshot snap, int firstVisible, int lastVisible) {
+    int oldRowCount = rowCount;
+    snapshot = snap;
+    rowCount = snap.getCarCount();
+
+    if (rowCount > oldRowCount) {
+      fireTableRowsInserted(oldRowCount, rowCount - 1);
+    } else if (rowCount < oldRowCount) {
+      fireTableRowsDeleted(rowCount, oldRowCount - 1);
+    }
+
+    // Only rows in the viewport need repainting
+    int last = Math.min(lastVisible, Math.min(oldRowCount, rowCount) - 1);
+    int first = Math.max(0, firstVisible);
+    if (first <= last) {
+      fireTableRowsUpdated(first, last);
+    }
+  }
+
+  // Table data
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColumnCount() {
+    return COLUMNS.length;
+  }
+
+  public String getColumnName(int column) {
+    return COLUMNS[column];
+  }
+
+  public Object getValueAt(int row, int column) {
+    switch (column) {
+      case 0: return "Car " + (row + 1);
+      case 1: return snapshot.getX(row);
+      case 2: return snapshot.getY(row);
+      case 3: return snapshot.getSpeed(row);
+      default: return CarStore.statusName(snapshot.getStatus(row));
+    }
+  }
+}
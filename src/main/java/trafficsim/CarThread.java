@@ -0,0 +1,66 @@
+/*
+ * File: CarThread.java
+ * Date: 12/9/2025
+ * Author: Eric Sampson
+ * Purpose: Thread class that controls car movement in the simulation.
+ *          Moves cars and checks for red lights; the GUI reads the result from snapshots.
+ *          Retires its car at the exit position and ends, freeing the pooled thread.
+ */
+
+package trafficsim;
+
+import java.util.concurrent.TimeUnit;
+
+public class CarThread implements Runnable {
+  // Fields
+  private Car car;
+  private LightIndex lights;
+  private RunControl control;
+  private int exitPosition;  // 0 = never retire
+
+  // Constructor
+  public CarThread(Car car, LightIndex lights, RunControl control) {
+    this(car, lights, control, 0);
+  }
+
+  public CarThread(Car car, LightIndex lights, RunControl control, int exitPosition) {
+    this.car = car;
+    this.lights = lights;
+    this.control = control;
+    this.exitPosition = exitPosition;
+  }
+
+  // Thread entry point
+  public void run() {
+    // Parks while paused, returns false once stopped
+    while (control.awaitRunning()) {
+      if (car.isRetired()) {
+        return;
+      }
+
+      // Find next light ahead of car (the index grows while cars run)
+      int x = car.getX();
+      TrafficLight nextLight;
+      synchronized (lights) {
+        nextLight = lights.nextLightAfter(x);
+      }
+
+      // Red = stop, Yellow/Green = go
+      if (nextLight != null && nextLight.isRed()) {
+        car.stop();
+      } else {
+        car.go();
+        car.move();
+        if (exitPosition > 0 && car.getX() >= exitPosition) {
+          car.retire();
+          return;
+        }
+      }
+
+      // Sleep for 1 second (simulation tick)
+      if (!control.sleep(TimeUnit.SECONDS.toNanos(1))) {
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * File: EntityThreadRunner.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Runs the runnable-per-entity model (TimeThread, TrafficLightThread per light,
+ *          CarThread per car) on a managed executor instead of raw Thread objects.
+ *          With virtual threads, 100k+ cars no longer cost an OS thread and stack each.
+ *          A car task ends when its car retires at the exit; on platform threads the
+ *          cached pool hands that thread to the next car's task.
+ */
+
+package trafficsim;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class EntityThreadRunner {
+  // Fields
+  private final ExecutionMode mode;
+  private final CarStore cars;
+  private final List<TrafficLight> lights;
+  private final LightIndex lightIndex;
+  private final SnapshotBuffer snapshots;
+  private ExecutorService executor;
+  private RunControl control;
+  private int exitPosition;  // 0 = cars never retire
+
+  // Final fields
+  public static final int SHUTDOWNSECONDS = 5;  // Max wait for tasks to finish on stop
+
+  // Constructor
+  public EntityThreadRunner(ExecutionMode mode, CarStore cars, List<TrafficLight> lights,
+      LightIndex lightIndex, SnapshotBuffer snapshots) {
+    this.mode = mode;
+    this.cars = cars;
+    this.lights = lights;
+    this.lightIndex = lightIndex;
+    this.snapshots = snapshots;
+  }
+
+  // Start one task for the clock, each light and each car
+  public void start() {
+    if (executor != null) {
+      return;
+    }
+    control = new RunControl();
+    executor = newExecutor(mode);
+    executor.execute(new TimeThread(snapshots, cars, lights, lightIndex, control));
+    for (int i = 0; i < lights.size(); i++) {
+      addLight(lights.get(i));
+    }
+    for (int i = 0; i < cars.size(); i++) {
+      if (cars.getStatus(i) != CarStore.RETIRED) {
+        addCar(i);
+      }
+    }
+  }
+
+  // Start tasks for entities added while running
+  public void addCar(int index) {
+    if (executor != null) {
+      executor.execute(new CarThread(cars.get(index), lightIndex, control, exitPosition));
+    }
+  }
+
+  public void addLight(TrafficLight light) {
+    if (executor != null) {
+      executor.execute(new TrafficLightThread(light, control));
+    }
+  }
+
+  // Control methods (O(1): every task parks on the same RunControl)
+  public void pause() {
+    if (control != null) {
+      control.pause();
+    }
+  }
+
+  public void resume() {
+    if (control != null) {
+      control.resume();
+    }
+  }
+
+  public void stop() {
+    if (executor == null) {
+      return;
+    }
+    control.stop();  // Every task returns from its sleep right away
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(SHUTDOWNSECONDS, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    executor = null;
+    control = null;
+  }
+
+  // Retire cars once they reach x (0 = never), for tasks started from now on
+  public void setExitPosition(int x) {
+    exitPosition = x;
+  }
+
+  public boolean isRunning() {
+    return executor != null;
+  }
+
+  // Virtual-thread-per-task executor when the JDK has one (Java 21+), else platform threads
+  private static ExecutorService newExecutor(ExecutionMode mode) {
+    if (mode == ExecutionMode.VIRTUAL_THREADS) {
+      try {
+        Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        return (ExecutorService) factory.invoke(null);
+      } catch (ReflectiveOperationException e) {
+        System.out.println("Virtual threads need Java 21 or newer, using platform threads");
+      }
+    }
+    return Executors.newCachedThreadPool(r -> {
+      Thread t = new Thread(r, "simulation-entity");
+      t.setDaemon(true);
+      return t;
+    });
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * File: EventLog.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Log of the inputs that change a run, for deterministic replay.
+ *          The engine records each input with the number of ticks completed when it
+ *          was applied (inputs only land between ticks, under the engine lock), so a
+ *          replay that applies them after the same tick reproduces the run exactly.
+ *          RESET and END entries carry the state hash at that point for verification.
+ *          The header records the run's setup (seed, load generators, exit position,
+ *          signal control, green wave), which ReplayRunner rebuilds before replaying.
+ *
+ *          File format (text, one entry per line, flushed as written):
+ *            # trafficsim event log v2 seed=<seed> exit=<x> signals=<name> green-wave=<v> [load=<spec>]...
+ *            <tick> ADD_CAR | ADD_INTERSECTION | PAUSE | RESUME
+ *            <tick> RESET | END <state hash in hex>
+ */
+
+package trafficsim;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventLog implements AutoCloseable {
+  // Kinds of recorded input
+  public enum Type {
+    ADD_CAR,
+    ADD_INTERSECTION,
+    PAUSE,
+    RESUME,
+    RESET,
+    END
+  }
+
+  // One recorded input
+  public static final class Entry {
+    private final long tick;
+    private final Type type;
+    private final long hash;  // State hash for RESET and END, else 0
+
+    Entry(long tick, Type type, long hash) {
+      this.tick = tick;
+      this.type = type;
+      this.hash = hash;
+    }
+
+    public long getTick() { return tick; }
+    public Type getType() { return type; }
+    public long getHash() { return hash; }
+  }
+
+  // Run setup written to the header: everything besides the logged inputs that shapes a run
+  public static final class Setup {
+    private final long seed;
+    private final List<String> loadSpecs;  // LoadGenerator specs, generator g seeded with seed + g
+    private final int exitPosition;        // 0 = never
+    private final String signals;          // Signal controller name
+    private final int greenWaveSpeed;      // 0 = default light seeding
+
+    public Setup(long seed, List<String> loadSpecs, int exitPosition, String signals, int greenWaveSpeed) {
+      for (String spec : loadSpecs) {
+        if (spec.isEmpty() || spec.contains(" ")) {
+          throw new IllegalArgumentException("Bad load spec: " + spec);
+        }
+      }
+      this.seed = seed;
+      this.loadSpecs = new ArrayList<>(loadSpecs);
+      this.exitPosition = exitPosition;
+      this.signals = signals;
+      this.greenWaveSpeed = greenWaveSpeed;
+    }
+
+    // Only a seed, as for a plain run (and for v1 logs)
+    public Setup(long seed) {
+      this(seed, new ArrayList<>(), 0, "fixed", 0);
+    }
+
+    // Give the engine this setup's exit, signal control and load generators, in spec order;
+    // returns the generators
+    public List<LoadGenerator> applyTo(SimulationEngine engine) {
+      engine.setExitPosition(exitPosition);
+      engine.setSignalController(HeadlessSimulation.signalController(signals));
+      List<LoadGenerator> generators = new ArrayList<>();
+      for (int g = 0; g < loadSpecs.size(); g++) {
+        LoadGenerator generator = LoadGenerator.parse(loadSpecs.get(g), seed + g);
+        engine.addLoadGenerator(generator);
+        generators.add(generator);
+      }
+      return generators;
+    }
+
+    // Retime the lights into the green wave, if any; runs once the lights added at tick 0 exist
+    public void applyGreenWave(SimulationEngine engine) {
+      if (greenWaveSpeed > 0) {
+        new GreenWaveCoordinator(greenWaveSpeed).apply(engine);
+      }
+    }
+
+    public long getSeed() { return seed; }
+    public List<String> getLoadSpecs() { return loadSpecs; }
+    public int getExitPosition() { return exitPosition; }
+    public String getSignals() { return signals; }
+    public int getGreenWaveSpeed() { return greenWaveSpeed; }
+  }
+
+  // Fields
+  private final BufferedWriter out;
+  private final Setup setup;
+
+  // Final fields
+  public static final String HEADER = "# trafficsim event log v";
+  public static final int VERSION = 2;
+
+  // Constructor: create (or replace) the log file
+  public EventLog(Path file, Setup setup) throws IOException {
+    this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    this.setup = setup;
+    StringBuilder header = new StringBuilder(HEADER).append(VERSION)
+        .append(" seed=").append(setup.getSeed())
+        .append(" exit=").append(setup.getExitPosition())
+        .append(" signals=").append(setup.getSignals())
+        .append(" green-wave=").append(setup.getGreenWaveSpeed());
+    for (String spec : setup.getLoadSpecs()) {
+      header.append(" load=").append(spec);
+    }
+    out.write(header.toString());
+    out.newLine();
+    out.flush();
+  }
+
+  public EventLog(Path file, long seed) throws IOException {
+    this(file, new Setup(seed));
+  }
+
+  // Record an input applied after the given number of ticks
+  public void record(long tick, Type type) {
+    write(tick + " " + type);
+  }
+
+  // Record a checkpoint of the state (RESET or END) with its hash
+  public void record(long tick, Type type, long hash) {
+    write(tick + " " + type + " " + Long.toHexString(hash));
+  }
+
+  private void write(String line) {
+    try {
+      out.write(line);
+      out.newLine();
+      out.flush();  // Keep the log usable if the run dies
+    } catch (IOException e) {
+      System.out.println("Event log write failed: " + e.getMessage());
+    }
+  }
+
+  public void close() throws IOException {
+    out.close();
+  }
+
+  public long getSeed() {
+    return setup.getSeed();
+  }
+
+  public Setup getSetup() {
+    return setup;
+  }
+
+  // Seed named in a log file's header
+  public static long readSeed(Path file) throws IOException {
+    return readSetup(file).getSeed();
+  }
+
+  // Run setup named in a log file's header
+  public static Setup readSetup(Path file) throws IOException {
+    try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return parseHeader(file, in.readLine());
+    }
+  }
+
+  // Every entry of a log file, in order
+  public static List<Entry> read(Path file) throws IOException {
+    List<Entry> entries = new ArrayList<>();
+    try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      parseHeader(file, in.readLine());
+      String line;
+      while ((line = in.readLine()) != null) {
+        if (line.isEmpty()) {
+          continue;
+        }
+        String[] parts = line.split(" ");
+        long hash = parts.length > 2 ? Long.parseUnsignedLong(parts[2], 16) : 0;
+        entries.add(new Entry(Long.parseLong(parts[0]), Type.valueOf(parts[1]), hash));
+      }
+    }
+    return entries;
+  }
+
+  // "v1 seed=S" (v1 logs) or "v2 seed=S exit=X signals=NAME green-wave=V load=SPEC..."
+  private static Setup parseHeader(Path file, String header) throws IOException {
+    if (header == null || !header.startsWith(HEADER)) {
+      throw new IOException(file + " is not a trafficsim event log");
+    }
+    String[] fields = header.substring(HEADER.length()).trim().split(" +");
+    if (Integer.parseInt(fields[0]) > VERSION) {
+      throw new IOException(file + " is a newer event log (v" + fields[0] + ")");
+    }
+    long seed = 1;
+    List<String> loadSpecs = new ArrayList<>();
+    int exitPosition = 0;
+    String signals = "fixed";
+    int greenWaveSpeed = 0;
+    for (int f = 1; f < fields.length; f++) {
+      int split = fields[f].indexOf('=');
+      if (split < 0) {
+        throw new IOException(file + ": bad header field " + fields[f]);
+      }
+      String value = fields[f].substring(split + 1);
+      switch (fields[f].substring(0, split)) {
+        case "seed": seed = Long.parseLong(value); break;
+        case "exit": exitPosition = Integer.parseInt(value); break;
+        case "signals": signals = value; break;
+        case "green-wave": greenWaveSpeed = Integer.parseInt(value); break;
+        case "load": loadSpecs.add(value); break;
+        default:
+          throw new IOException(file + ": unknown header field " + fields[f]);
+      }
+    }
+    return new Setup(seed, loadSpecs, exitPosition, signals, greenWaveSpeed);
+  }
+}
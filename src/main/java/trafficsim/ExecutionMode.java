@@ -0,0 +1,29 @@
+/*
+ * File: ExecutionMode.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Enum of ways to run the simulation.
+ *          ENGINE ticks everything from one loop; the other modes keep one runnable
+ *          per car and light, on platform threads or on virtual threads.
+ *          Selected with -Dtrafficsim.mode=engine|platform|virtual.
+ */
+
+package trafficsim;
+
+public enum ExecutionMode {
+  ENGINE,
+  PLATFORM_THREADS,
+  VIRTUAL_THREADS;
+
+  // Mode named by the trafficsim.mode system property (ENGINE if unset)
+  public static ExecutionMode fromProperty() {
+    String value = System.getProperty("trafficsim.mode", "engine");
+    switch (value.toLowerCase()) {
+      case "engine": return ENGINE;
+      case "platform": return PLATFORM_THREADS;
+      case "virtual": return VIRTUAL_THREADS;
+      default:
+        throw new IllegalArgumentException("Unknown trafficsim.mode: " + value);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+/*
+ * File: FixedTimeController.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Fixed-time signal control: every light cycles GREEN -> YELLOW -> RED on its
+ *          own durations, whatever the traffic. The default for LightScheduler.
+ */
+
+package trafficsim;
+
+public class FixedTimeController implements SignalController {
+  public int onTimer(TrafficLight light, int elapsed, int queue) {
+    light.cycle();
+    return light.getDuration(light.getColor());
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * File: HeadlessSimulation.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Command-line entry point that runs the simulation without Swing.
+ *          Advances the engine as fast as the CPU allows for a number of simulated
+ *          hours, then reports final car positions, light states and the speedup reached.
+ *
+ *          Usage: java trafficsim.HeadlessSimulation [--hours H] [--cars N] [--lights N]
+ *                                                    [--workers N] [--green-wave V] [--summary]
+ *                                                    [--grid RxC]
+ *                                                    [--load-checkpoint FILE] [--save-checkpoint FILE]
+ *                                                    [--record FILE] [--event-log FILE] [--seed S]
+ *                                                    [--metrics SECONDS] [--load SPEC]... [--exit X]
+ *                                                    [--signals fixed|actuated]
+ *
+ *          With --grid the cars drive shortest-path trips across a grid road network instead
+ *          of the single road; --lights is ignored and each approach has its own light.
+ *          Each --load adds a seeded LoadGenerator (see there for the spec format).
+ */
+
+package trafficsim;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.JMException;
+
+public class HeadlessSimulation {
+  // Fields
+  private double hours = 1;
+  private int cars = 3;
+  private int lights = 3;
+  private int workers = 1;
+  private int greenWaveSpeed = 0;  // 0 = keep the default light seeding
+  private boolean summary = false;
+  private int gridRows = 0;        // 0 = single road
+  private int gridCols = 0;
+  private Path loadCheckpoint;     // Start from this checkpoint instead of a fresh scenario
+  private Path saveCheckpoint;     // Write the final state here
+  private Path recordFile;         // Trajectory log, off when null
+  private Path eventLogFile;       // Input log for ReplayRunner, off when null
+  private long seed = 1;           // Load generator seed, recorded in the event log header
+  private int metricsPeriod = 0;   // Seconds between metrics log lines, 0 = off
+  private int exitPosition = 0;    // Retire cars at this x, 0 = never
+  private String signals = "fixed";  // Signal controller
+  private final List<String> loadSpecs = new ArrayList<>();  // LoadGenerator specs
+
+  // Final fields (grid mode)
+  public static final int GRIDSPACING = 200;  // Meters between intersections
+  public static final int GRIDLANES = 2;
+
+  // Parse command-line options
+  private void parseArgs(String[] args) {
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--hours": hours = Double.parseDouble(args[++i]); break;
+        case "--cars": cars = Integer.parseInt(args[++i]); break;
+        case "--lights": lights = Integer.parseInt(args[++i]); break;
+        case "--workers": workers = Integer.parseInt(args[++i]); break;
+        case "--green-wave": greenWaveSpeed = Integer.parseInt(args[++i]); break;
+        case "--summary": summary = true; break;
+        case "--load-checkpoint": loadCheckpoint = Paths.get(args[++i]); break;
+        case "--save-checkpoint": saveCheckpoint = Paths.get(args[++i]); break;
+        case "--record": recordFile = Paths.get(args[++i]); break;
+        case "--event-log": eventLogFile = Paths.get(args[++i]); break;
+        case "--seed": seed = Long.parseLong(args[++i]); break;
+        case "--metrics": metricsPeriod = Integer.parseInt(args[++i]); break;
+        case "--load": loadSpecs.add(args[++i]); break;
+        case "--exit": exitPosition = Integer.parseInt(args[++i]); break;
+        case "--signals": signals = args[++i]; break;
+        case "--grid": {
+          String[] size = args[++i].split("x");
+          gridRows = Integer.parseInt(size[0]);
+          gridCols = Integer.parseInt(size[1]);
+          break;
+        }
+        default:
+          throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+    validate();
+  }
+
+  // Reject bad option values and combinations before any file is opened or written
+  private void validate() {
+    if (eventLogFile != null && loadCheckpoint != null) {
+      throw new IllegalArgumentException("--event-log replays from the default scenario, not a checkpoint");
+    }
+    if (eventLogFile != null && gridRows > 0) {
+      throw new IllegalArgumentException("--event-log records the single road, not --grid");
+    }
+    signalController(signals);
+    for (String spec : loadSpecs) {
+      LoadGenerator.parse(spec, seed);
+    }
+    if (greenWaveSpeed < 0) {
+      throw new IllegalArgumentException("Green wave speed must be positive: " + greenWaveSpeed);
+    }
+  }
+
+  // Build the engine, run it and print the report
+  private void run() throws IOException {
+    if (gridRows > 0) {
+      runGrid();
+      return;
+    }
+    SimulationEngine engine;
+    if (loadCheckpoint != null) {
+      long loadStart = System.nanoTime();
+      engine = Checkpoint.load(loadCheckpoint, workers);
+      System.out.printf("Loaded %s (%d cars, %d lights, t=%d s) in %.3f s%n", loadCheckpoint,
+          engine.getCars().size(), engine.getLights().size(), engine.getSeconds(),
+          (System.nanoTime() - loadStart) / 1e9);
+    } else {
+      engine = new SimulationEngine(workers);
+      engine.addDefaultScenario();
+    }
+    EventLog.Setup setup = new EventLog.Setup(seed, loadSpecs, exitPosition, signals, greenWaveSpeed);
+    EventLog eventLog = null;
+    if (eventLogFile != null) {
+      eventLog = new EventLog(eventLogFile, setup);
+      engine.setEventLog(eventLog);
+    }
+    while (engine.getLights().size() < lights) {
+      engine.addNextLight();
+    }
+    while (engine.getCars().size() < cars) {
+      engine.addNextCar();
+    }
+    setup.applyGreenWave(engine);
+    List<LoadGenerator> generators = setup.applyTo(engine);
+
+    TrajectoryRecorder recorder = null;
+    if (recordFile != null) {
+      recorder = new TrajectoryRecorder(recordFile);
+      engine.setRecorder(recorder);
+    }
+
+    SimulationMetrics metrics = null;
+    if (metricsPeriod > 0) {
+      metrics = new SimulationMetrics();
+      engine.setMetrics(metrics);
+      try {
+        metrics.register();
+      } catch (JMException e) {
+        System.out.println("Metrics JMX disabled: " + e.getMessage());
+      }
+      metrics.startLogging(metricsPeriod);
+    }
+
+    long ticks = Math.round(hours * 3600 / SimulationEngine.TICKSECONDS);
+    long startNanos = System.nanoTime();
+    engine.runTicks(ticks);
+    long wallNanos = System.nanoTime() - startNanos;
+    if (metrics != null) {
+      metrics.stopLogging();
+      metrics.sampleApproaches(engine.getCars(), engine.getLightIndex());
+      System.out.println(metrics.logLine());
+    }
+    engine.shutdown();
+
+    if (eventLog != null) {
+      eventLog.record(engine.getSeconds() / SimulationEngine.TICKSECONDS, EventLog.Type.END, engine.stateHash());
+      eventLog.close();
+    }
+    if (recorder != null) {
+      recorder.close();
+      System.out.printf("Recorded %d frames to %s (%d KB, %d frames dropped)%n", recorder.getFramesWritten(),
+          recordFile, recorder.getBytesWritten() >> 10, recorder.getDropped());
+    }
+
+    if (saveCheckpoint != null) {
+      long saveStart = System.nanoTime();
+      engine.saveCheckpoint(saveCheckpoint);
+      System.out.printf("Saved %s in %.3f s%n", saveCheckpoint, (System.nanoTime() - saveStart) / 1e9);
+    }
+
+    // Final state
+    if (!summary) {
+      System.out.println("Cars:");
+      CarStore store = engine.getCars();
+      for (int i = 0; i < store.size(); i++) {
+        Car car = store.get(i);
+        System.out.printf("  %-10s x=%d y=%d speed=%d status=%s%n",
+            car.getName(), car.getX(), car.getY(), car.getSpeed(), car.getStatus());
+      }
+      System.out.println("Lights:");
+      for (TrafficLight light : engine.getLights()) {
+        System.out.printf("  %-10s position=%d color=%s%n",
+            light.getName(), light.getPosition(), light.getColor());
+      }
+    }
+
+    // Throughput
+    double wallSeconds = wallNanos / 1e9;
+    double simSeconds = engine.getSeconds();
+    for (int g = 0; g < generators.size(); g++) {
+      System.out.printf("Load %s: %d cars injected%n", loadSpecs.get(g), generators.get(g).getInjected());
+    }
+    if (exitPosition > 0) {
+      Runtime runtime = Runtime.getRuntime();
+      System.out.printf("Exit at %d m: %d cars on the road in %d slots, heap in use %d MB%n", exitPosition,
+          engine.getCars().getActiveCount(), engine.getCars().size(),
+          (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+    }
+    System.out.printf("Simulated %.0f s (%d ticks) with %d cars and %d lights in %.3f s wall time%n",
+        simSeconds, ticks, engine.getCars().size(), engine.getLights().size(), wallSeconds);
+    System.out.printf("Throughput: %.0f cars past the last light per simulated hour%n",
+        engine.getCarsPastLastLight() * 3600 / simSeconds);
+    System.out.printf("State hash: %016x%n", engine.stateHash());
+    double runSeconds = ticks * SimulationEngine.TICKSECONDS;
+    System.out.printf("Speed: %.0f simulated seconds per wall second%n",
+        wallSeconds > 0 ? runSeconds / wallSeconds : Double.POSITIVE_INFINITY);
+  }
+
+  // Controller named by --signals / trafficsim.signals
+  static SignalController signalController(String name) {
+    switch (name) {
+      case "fixed": return new FixedTimeController();
+      case "actuated": return new ActuatedController();
+      default:
+        throw new IllegalArgumentException("Unknown signal control: " + name);
+    }
+  }
+
+  // Build a grid network, send cars on straight trips across it and print the report
+  private void runGrid() {
+    RoadNetwork network = RoadNetwork.grid(gridRows, gridCols, GRIDSPACING, GRIDLANES);
+    NetworkSimulation sim = new NetworkSimulation(network);
+
+    // Straight trips along every row and column in both directions, routed through
+    // the route cache so cars making the same trip share one route
+    int[] trips = new int[4 * (gridRows + gridCols)];
+    int t = 0;
+    for (int row = 0; row < gridRows; row++) {
+      int west = row * gridCols;
+      int east = west + gridCols - 1;
+      trips[t++] = west;
+      trips[t++] = east;
+      trips[t++] = east;
+      trips[t++] = west;
+    }
+    for (int col = 0; col < gridCols; col++) {
+      int north = col;
+      int south = (gridRows - 1) * gridCols + col;
+      trips[t++] = north;
+      trips[t++] = south;
+      trips[t++] = south;
+      trips[t++] = north;
+    }
+    long routeStart = System.nanoTime();
+    int tripCount = trips.length / 2;
+    for (int i = 0; i < cars; i++) {
+      int trip = i % tripCount;
+      sim.addTrip(trips[2 * trip], trips[2 * trip + 1], 10 + i % 11, (i / tripCount) % GRIDLANES);
+    }
+    long routeNanos = System.nanoTime() - routeStart;
+    RouteCache routeCache = sim.getRouteCache();
+    System.out.printf("Routed %d cars in %.3f s (%d routes computed, %d reused, %d KB cached)%n",
+        sim.getCars().size(), routeNanos / 1e9, routeCache.getMisses(), routeCache.getHits(),
+        routeCache.getUsedBytes() >> 10);
+
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    long usedBytes = runtime.totalMemory() - runtime.freeMemory();
+
+    long ticks = Math.round(hours * 3600 / SimulationEngine.TICKSECONDS);
+    long startNanos = System.nanoTime();
+    sim.runTicks(ticks);
+    long wallNanos = System.nanoTime() - startNanos;
+
+    double wallSeconds = wallNanos / 1e9;
+    double simSeconds = sim.getSeconds();
+    System.out.printf("Simulated %.0f s (%d ticks) on a %dx%d grid (%d intersections, %d roads) with %d cars in %.3f s wall time%n",
+        simSeconds, ticks, gridRows, gridCols, network.getNodeCount(), network.getEdgeCount(),
+        cars, wallSeconds);
+    System.out.printf("Arrivals: %d of %d cars finished their trip (%d slots in use)%n", sim.getArrivals(), cars,
+        sim.getCars().size());
+    System.out.printf("Heap after setup: %d MB%n", usedBytes >> 20);
+    System.out.printf("State hash: %016x%n", sim.stateHash());
+    System.out.printf("Speed: %.0f simulated seconds per wall second%n",
+        wallSeconds > 0 ? simSeconds / wallSeconds : Double.POSITIVE_INFINITY);
+  }
+
+  public static void main(String[] args) throws IOException {
+    HeadlessSimulation sim = new HeadlessSimulation();
+    sim.parseArgs(args);
+    sim.run();
+  }
+}
@@ -0,0 +1,395 @@
+/*
+ * File: LaneIndex.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Per-lane, position-sorted index of cars used for car following.
+ *          Keeps every car in one array grouped by lane and ordered front to back.
+ *          Each refresh regroups the previous order with a stable counting sort (so cars
+ *          that changed lane move to their new group) and then insertion-sorts each lane.
+ *          Cars cannot overtake within a lane, so the order barely changes between ticks
+ *          and a refresh costs O(cars + lanes). It records the position of each car's
+ *          leader and of each lane's last car, so both lookups are O(1).
+ *          On a single road with a fork-join pool every O(cars) pass is split into
+ *          chunks: lane keys with a per-chunk histogram, the scatter of the counting
+ *          sort, and insertion sorts plus leaders for each chunk's stretch of every lane
+ *          (a lane is re-sorted whole only if two stretches do not line up). The result
+ *          is the same as the serial refresh, and the reused task tree allocates nothing.
+ */
+
+package trafficsim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.LockSupport;
+
+public class LaneIndex {
+  // Final fields
+  public static final int LANEWIDTH = 4;               // Meters between lane centers (y)
+  public static final int NOLEADER = Integer.MAX_VALUE;
+  public static final int NOLANE = -1;                 // Lane key for cars off the road
+  public static final int MINCHUNK = 16384;            // Smallest car range worth a parallel chunk
+  public static final long CHUNKWAITNANOS = 1_000_000; // Re-check interval while parked
+
+  // Parallel passes
+  private static final int COUNT = 0;
+  private static final int SCATTER = 1;
+  private static final int SORT = 2;
+
+  // Fields
+  private int[] order = new int[16];     // Cars grouped by lane, front (largest x) first
+  private int[] scratch = new int[16];
+  private int indexed;                   // Cars [0, indexed) are in the order array
+  private int[] yKeys = new int[16];     // Lane keys derived from y, for refresh(cars)
+  private int[] laneStart = new int[2];  // Start of each lane's group in order
+  private int laneCount;
+  private int[] leaderX = new int[16];   // Leader position as of the last refresh
+  private int[] tailX = new int[1];      // Last car's position per lane, as of the last refresh
+
+  // Parallel refresh state
+  private ChunkTask chunkRoot;           // Reused task tree for the current chunk count
+  private final ArrayList<ChunkTask> chunkTasks = new ArrayList<>();
+  private int chunks;
+  private int chunkSize;
+  private int pass;                      // Pass the chunk tasks run next
+  private Thread chunkWaiter;            // Thread parked until a pass finishes
+  private CarStore chunkCars;
+  private int chunkCount;                // Cars in this refresh
+  private int stride = 4;                // Buckets per chunk: lanes, then off-road cars last
+  private int[] chunkBuckets = new int[0];  // Per chunk and bucket: counts, then write positions
+  private int[] chunkMaxLane = new int[0];
+
+  // Lane number for a y coordinate
+  public static int laneOf(int y) {
+    return Math.max(0, y / LANEWIDTH);
+  }
+
+  // Refresh for a single road, taking each car's lane from its y coordinate
+  // (retired cars are off the road)
+  public void refresh(CarStore cars) {
+    int count = cars.size();
+    if (yKeys.length < count) {
+      yKeys = new int[Math.max(count, yKeys.length * 2)];
+    }
+    int lanes = 0;
+    for (int i = 0; i < count; i++) {
+      yKeys[i] = cars.getStatus(i) == CarStore.RETIRED ? NOLANE : laneOf(cars.getY(i));
+      lanes = Math.max(lanes, yKeys[i] + 1);
+    }
+    refresh(cars, yKeys, lanes);
+  }
+
+  // Regroup cars by laneKeys[car] (0..lanes-1, or NOLANE), restore front-to-back order
+  // and record leader and tail positions
+  public void refresh(CarStore cars, int[] laneKeys, int lanes) {
+    int count = cars.size();
+    prepare(count);
+    ensureLanes(lanes);
+
+    // Stable counting sort of the previous order by lane; off-road cars go last
+    Arrays.fill(laneStart, 0, lanes + 2, 0);
+    for (int k = 0; k < count; k++) {
+      laneStart[bucketOf(laneKeys[order[k]], lanes) + 1]++;
+    }
+    for (int b = 0; b <= lanes; b++) {
+      laneStart[b + 1] += laneStart[b];
+    }
+    for (int k = 0; k < count; k++) {
+      int car = order[k];
+      scratch[laneStart[bucketOf(laneKeys[car], lanes)]++] = car;
+    }
+    swapOrder();
+
+    // laneStart[b] now holds the end of bucket b; shift back to starts
+    System.arraycopy(laneStart, 0, laneStart, 1, lanes + 1);
+    laneStart[0] = 0;
+
+    for (int lane = 0; lane < lanes; lane++) {
+      int from = laneStart[lane];
+      int to = laneStart[lane + 1];
+      sortFrontToBack(cars, order, from, to);
+      setLeaders(cars, from, to);
+      tailX[lane] = to > from ? cars.getX(order[to - 1]) : NOLEADER;
+    }
+  }
+
+  // Same result as refresh(cars), with the O(cars) passes split into chunks on the pool
+  // (falls back to the serial refresh when there are too few cars to split)
+  public void refresh(CarStore cars, ForkJoinPool pool, int workers) {
+    int count = cars.size();
+    int parts = Math.min(workers * 4, count / MINCHUNK);
+    if (parts < 2) {
+      refresh(cars);
+      return;
+    }
+    if (yKeys.length < count) {
+      yKeys = new int[Math.max(count, yKeys.length * 2)];
+    }
+    prepare(count);
+    if (chunkRoot == null || chunks != parts) {
+      chunks = parts;
+      chunkTasks.clear();
+      chunkRoot = new ChunkTask(null, 0, chunks);
+      chunkMaxLane = new int[chunks];
+    }
+    chunkSize = (count + chunks - 1) / chunks;
+    chunkCars = cars;
+    chunkCount = count;
+
+    // Stable counting sort: each chunk takes the lane keys of its stretch of the previous
+    // order and counts them per bucket (counted again if a new lane showed up), then
+    // scatters them from its own write position, after the same bucket in earlier chunks
+    int lanes;
+    while (true) {
+      if (chunkBuckets.length < chunks * stride) {
+        chunkBuckets = new int[chunks * stride];
+      }
+      Arrays.fill(chunkBuckets, 0, chunks * stride, 0);
+      runPass(pool, COUNT);
+      lanes = 0;
+      for (int c = 0; c < chunks; c++) {
+        lanes = Math.max(lanes, chunkMaxLane[c] + 1);
+      }
+      if (lanes < stride) {
+        break;
+      }
+      stride = lanes + 1;
+    }
+    ensureLanes(lanes);
+    int start = 0;
+    for (int b = 0; b <= lanes; b++) {
+      int slot = b == lanes ? stride - 1 : b;  // Off-road cars count in the last slot
+      laneStart[b] = start;
+      for (int c = 0; c < chunks; c++) {
+        int n = chunkBuckets[c * stride + slot];
+        chunkBuckets[c * stride + slot] = start;
+        start += n;
+      }
+    }
+    laneStart[lanes + 1] = start;
+    runPass(pool, SCATTER);
+    swapOrder();
+
+    // Chunks sort their own stretch of each lane and set its leaders; a lane whose
+    // stretches do not line up at a chunk boundary is sorted again as a whole (cheap,
+    // it is nearly sorted), otherwise only the leader across each boundary is set
+    runPass(pool, SORT);
+    for (int lane = 0; lane < lanes; lane++) {
+      int from = laneStart[lane];
+      int to = laneStart[lane + 1];
+      int first = (from / chunkSize + 1) * chunkSize;  // First chunk boundary inside the lane
+      boolean sorted = true;
+      for (int k = first; k < to && sorted; k += chunkSize) {
+        sorted = !isBehind(cars, order[k - 1], cars.getX(order[k]), order[k]);
+      }
+      if (sorted) {
+        for (int k = first; k < to; k += chunkSize) {
+          leaderX[order[k]] = cars.getX(order[k - 1]);
+        }
+      } else {
+        sortFrontToBack(cars, order, from, to);
+        setLeaders(cars, from, to);
+      }
+      tailX[lane] = to > from ? cars.getX(order[to - 1]) : NOLEADER;
+    }
+    chunkCars = null;
+  }
+
+  // One pass over one chunk of the order array
+  private void runChunk(int chunk) {
+    int from = chunk * chunkSize;
+    int to = Math.min(chunkCount, from + chunkSize);
+    CarStore cars = chunkCars;
+    int base = chunk * stride;
+    int offRoad = base + stride - 1;
+    switch (pass) {
+      case COUNT: {
+        int maxLane = -1;
+        for (int k = from; k < to; k++) {
+          int car = order[k];
+          int key = cars.getStatus(car) == CarStore.RETIRED ? NOLANE : laneOf(cars.getY(car));
+          yKeys[car] = key;
+          if (key == NOLANE) {
+            chunkBuckets[offRoad]++;
+          } else {
+            maxLane = Math.max(maxLane, key);
+            if (key < stride - 1) {
+              chunkBuckets[base + key]++;
+            }
+          }
+        }
+        chunkMaxLane[chunk] = maxLane;
+        break;
+      }
+      case SCATTER: {
+        for (int k = from; k < to; k++) {
+          int car = order[k];
+          int key = yKeys[car];
+          scratch[chunkBuckets[key == NOLANE ? offRoad : base + key]++] = car;
+        }
+        break;
+      }
+      case SORT: {
+        int k = from;
+        while (k < to) {
+          int key = yKeys[order[k]];
+          if (key == NOLANE) {
+            break;  // Off-road cars are last and stay unsorted
+          }
+          int end = Math.min(to, laneStart[key + 1]);
+          sortFrontToBack(cars, order, k, end);
+          setLeaders(cars, k, end);  // The first one is fixed up across the boundary
+          k = end;
+        }
+        break;
+      }
+      default:
+        throw new IllegalStateException("Unknown pass: " + pass);
+    }
+  }
+
+  // Each car's leader is the one before it in order[from, to); the first has none
+  private void setLeaders(CarStore cars, int from, int to) {
+    int previousX = NOLEADER;
+    for (int k = from; k < to; k++) {
+      int car = order[k];
+      leaderX[car] = previousX;
+      previousX = cars.getX(car);
+    }
+  }
+
+  // Run one pass over every chunk on the pool and park until it is done. Parking
+  // instead of pool.invoke() keeps the wait allocation-free.
+  private void runPass(ForkJoinPool pool, int nextPass) {
+    for (int t = 0; t < chunkTasks.size(); t++) {
+      chunkTasks.get(t).reinitialize();
+    }
+    pass = nextPass;
+    chunkWaiter = Thread.currentThread();
+    pool.execute(chunkRoot);
+    while (!chunkRoot.isDone()) {
+      LockSupport.parkNanos(this, CHUNKWAITNANOS);
+    }
+    chunkRoot.join();  // Already done: rethrows a failure without waiting
+  }
+
+  // Fork-join task over a range of chunks; builds its subtree up front. Never serialized.
+  @SuppressWarnings("serial")
+  private final class ChunkTask extends CountedCompleter<Void> {
+    private final int from;
+    private final int to;
+    private final ChunkTask left;
+    private final ChunkTask right;
+
+    ChunkTask(ChunkTask parent, int from, int to) {
+      super(parent);
+      this.from = from;
+      this.to = to;
+      chunkTasks.add(this);
+      if (to - from == 1) {
+        left = null;
+        right = null;
+      } else {
+        int mid = (from + to) >>> 1;
+        left = new ChunkTask(this, from, mid);
+        right = new ChunkTask(this, mid, to);
+      }
+    }
+
+    public void compute() {
+      if (left == null) {
+        runChunk(from);
+      } else {
+        setPendingCount(1);
+        left.fork();
+        right.compute();
+        return;  // The last child to finish completes this task
+      }
+      tryComplete();
+    }
+
+    public void onCompletion(CountedCompleter<?> caller) {
+      if (this == chunkRoot) {
+        LockSupport.unpark(chunkWaiter);
+      }
+    }
+  }
+
+  // Grow the per-car arrays and bring the order up to count cars
+  private void prepare(int count) {
+    if (order.length < count) {
+      int capacity = Math.max(count, order.length * 2);
+      order = Arrays.copyOf(order, capacity);
+      scratch = new int[capacity];
+      leaderX = Arrays.copyOf(leaderX, capacity);
+    }
+    if (indexed > count) {
+      // Cars were trimmed off the end of the store; drop them from the order
+      int kept = 0;
+      for (int k = 0; k < indexed; k++) {
+        if (order[k] < count) {
+          order[kept++] = order[k];
+        }
+      }
+      indexed = count;
+    }
+    while (indexed < count) {
+      order[indexed] = indexed;
+      indexed++;
+    }
+  }
+
+  private void ensureLanes(int lanes) {
+    if (laneStart.length < lanes + 2) {
+      laneStart = new int[lanes + 2];
+      tailX = new int[lanes];
+    }
+    laneCount = lanes;
+  }
+
+  private void swapOrder() {
+    int[] swap = order;
+    order = scratch;
+    scratch = swap;
+  }
+
+  // Position of the car ahead in the same lane, or NOLEADER for the front car
+  public int getLeaderX(int car) {
+    return leaderX[car];
+  }
+
+  // Position of the last car in the lane, or NOLEADER if the lane was empty
+  public int getTailX(int lane) {
+    return tailX[lane];
+  }
+
+  // Number of lanes in the last refresh
+  public int getLaneCount() {
+    return laneCount;
+  }
+
+  private static int bucketOf(int key, int lanes) {
+    return key == NOLANE ? lanes : key;
+  }
+
+  // Insertion sort by x descending, then index ascending (O(n) when nearly sorted)
+  private static void sortFrontToBack(CarStore cars, int[] order, int from, int to) {
+    for (int k = from + 1; k < to; k++) {
+      int car = order[k];
+      int x = cars.getX(car);
+      int j = k - 1;
+      while (j >= from && isBehind(cars, order[j], x, car)) {
+        order[j + 1] = order[j];
+        j--;
+      }
+      order[j + 1] = car;
+    }
+  }
+
+  // Whether car a belongs behind a car at position x with index b
+  private static boolean isBehind(CarStore cars, int a, int x, int b) {
+    int ax = cars.getX(a);
+    return ax < x || (ax == x && a > b);
+  }
+}
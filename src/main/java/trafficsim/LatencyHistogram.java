@@ -0,0 +1,91 @@
+/*
+ * File: LatencyHistogram.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Log-linear histogram of durations in nanoseconds for the metrics registry.
+ *          Each power of two is split into SUBBUCKETS linear buckets (about 12% error),
+ *          and every bucket is a striped LongAdder, so recording is a shift, a count of
+ *          leading zeros and an uncontended add with no locking and no allocation.
+ */
+
+package trafficsim;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+  // Final fields
+  public static final int SUBBITS = 3;
+  public static final int SUBBUCKETS = 1 << SUBBITS;    // Linear buckets per power of two
+  public static final int LINEAR = 2 * SUBBUCKETS;      // Values below this get their own bucket
+  public static final int BUCKETS = LINEAR + (63 - SUBBITS - 1) * SUBBUCKETS;
+
+  // Fields
+  private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+  // Constructor
+  public LatencyHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = new LongAdder();
+    }
+  }
+
+  // Record one duration (negative values count as zero)
+  public void record(long nanos) {
+    counts[bucketFor(Math.max(0, nanos))].increment();
+  }
+
+  // Copy the current counts into out (length BUCKETS)
+  public void copyCounts(long[] out) {
+    for (int i = 0; i < BUCKETS; i++) {
+      out[i] = counts[i].sum();
+    }
+  }
+
+  // Percentile (0..1) of everything recorded so far, 0 if nothing was recorded
+  public long percentile(double p) {
+    long[] snapshot = new long[BUCKETS];
+    copyCounts(snapshot);
+    return percentile(snapshot, p);
+  }
+
+  // Percentile (0..1) of the given bucket counts, as the upper bound of its bucket
+  public static long percentile(long[] counts, double p) {
+    long total = 0;
+    for (long c : counts) {
+      total += c;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(p * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return upperBound(i);
+      }
+    }
+    return upperBound(counts.length - 1);
+  }
+
+  // Bucket index for a non-negative value
+  static int bucketFor(long value) {
+    if (value < LINEAR) {
+      return (int) value;
+    }
+    int exp = 63 - Long.numberOfLeadingZeros(value);  // >= SUBBITS + 1
+    int sub = (int) (value >>> (exp - SUBBITS)) & (SUBBUCKETS - 1);
+    return LINEAR + (exp - SUBBITS - 1) * SUBBUCKETS + sub;
+  }
+
+  // Largest value that falls in bucket i
+  static long upperBound(int i) {
+    if (i < LINEAR) {
+      return i;
+    }
+    int exp = (i - LINEAR) / SUBBUCKETS + SUBBITS + 1;
+    int sub = (i - LINEAR) % SUBBUCKETS;
+    long width = 1L << (exp - SUBBITS);
+    return ((long) (SUBBUCKETS + sub) << (exp - SUBBITS)) + width - 1;
+  }
+}
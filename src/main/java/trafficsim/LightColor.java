@@ -0,0 +1,25 @@
+/*
+ * File: LightColor.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Enum of traffic light colors.
+ *          Light state is compared by reference instead of by string; names are
+ *          only used at the display edge.
+ */
+
+package trafficsim;
+
+public enum LightColor {
+  GREEN,
+  YELLOW,
+  RED;
+
+  // Color that follows this one in the GREEN -> YELLOW -> RED cycle
+  public LightColor next() {
+    switch (this) {
+      case GREEN: return YELLOW;
+      case YELLOW: return RED;
+      default: return GREEN;
+    }
+  }
+}
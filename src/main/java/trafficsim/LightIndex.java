@@ -0,0 +1,87 @@
+/*
+ * File: LightIndex.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Position-sorted index of traffic lights.
+ *          Keeps light positions in a primitive array so the next light ahead of a car
+ *          is found by binary search, no matter what order intersections were added in.
+ *          Also holds a per-tick view of which lights are red, captured once per tick, so
+ *          every car in a tick sees the same light state even when cars run in parallel.
+ *          The engine adds lights under its own lock and also holds this index's monitor,
+ *          which per-entity threads take to look lights up while the GUI adds intersections.
+ */
+
+package trafficsim;
+
+import java.util.Arrays;
+
+public class LightIndex {
+  // Fields
+  private int size;
+  private int[] positions = new int[8];
+  private TrafficLight[] lights = new TrafficLight[8];
+  private boolean[] redView = new boolean[8];  // Light state as of the last captureView()
+
+  // Insert a light at its sorted position (after any light at the same position)
+  public void add(TrafficLight light) {
+    if (size == positions.length) {
+      positions = Arrays.copyOf(positions, size * 2);
+      lights = Arrays.copyOf(lights, size * 2);
+      redView = Arrays.copyOf(redView, size * 2);
+    }
+    int slot = nextIndexAfter(light.getPosition());
+    System.arraycopy(positions, slot, positions, slot + 1, size - slot);
+    System.arraycopy(lights, slot, lights, slot + 1, size - slot);
+    System.arraycopy(redView, slot, redView, slot + 1, size - slot);
+    positions[slot] = light.getPosition();
+    lights[slot] = light;
+    redView[slot] = light.isRed();
+    size++;
+  }
+
+  // Index of the first light with position > x, or size() if none is ahead
+  public int nextIndexAfter(int x) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (positions[mid] <= x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  // First light ahead of position x, or null if the car is past every light
+  public TrafficLight nextLightAfter(int x) {
+    int i = nextIndexAfter(x);
+    return i < size ? lights[i] : null;
+  }
+
+  // Freeze the current light colors for the coming tick
+  public void captureView() {
+    for (int i = 0; i < size; i++) {
+      redView[i] = lights[i].isRed();
+    }
+  }
+
+  // Whether the light at sorted index i was red when the view was captured
+  public boolean isRedAt(int i) {
+    return redView[i];
+  }
+
+  // Getters (by sorted index)
+  public int size() {
+    return size;
+  }
+
+  public int getPosition(int i) {
+    return positions[i];
+  }
+
+  public TrafficLight get(int i) {
+    return lights[i];
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * File: LightScheduler.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Discrete-event scheduler for traffic light phase changes.
+ *          A hashed timer wheel keyed by simulated second fires every due light from
+ *          the simulation thread. Scheduling and firing a transition are O(1), however
+ *          many lights exist; lights are chained through their own fields, so no
+ *          allocation happens per transition. What a due light does next is up to a
+ *          SignalController (fixed-time unless set otherwise), which can see how long
+ *          the light has shown its color and the queue on its approach.
+ */
+
+package trafficsim;
+
+public class LightScheduler {
+  // Final fields
+  public static final int WHEELSIZE = 64;  // Buckets, must be a power of two
+  private static final int MASK = WHEELSIZE - 1;
+
+  // Fields
+  private final TrafficLight[] buckets = new TrafficLight[WHEELSIZE];
+  private long now;       // Simulated seconds since the scheduler was created
+  private long fired;     // Total transitions fired
+  private SignalController controller = new FixedTimeController();
+  private ApproachQueues queues;  // Optional, queue lengths for the controller
+
+  // Schedule the light's next change after its remaining starting phase
+  public void add(TrafficLight light) {
+    light.phaseStart = now - (light.getDuration(light.getColor()) - light.getInitialRemaining());
+    schedule(light, light.getInitialRemaining());
+  }
+
+  // Schedule the light to change color after the given number of seconds
+  public void schedule(TrafficLight light, int delay) {
+    light.deadline = now + Math.max(1, delay);
+    int bucket = (int) (light.deadline & MASK);
+    light.nextTimer = buckets[bucket];
+    buckets[bucket] = light;
+  }
+
+  // Take a scheduled light off the wheel (walks one bucket)
+  public void remove(TrafficLight light) {
+    int bucket = (int) (light.deadline & MASK);
+    TrafficLight prev = null;
+    for (TrafficLight t = buckets[bucket]; t != null; prev = t, t = t.nextTimer) {
+      if (t == light) {
+        if (prev == null) {
+          buckets[bucket] = t.nextTimer;
+        } else {
+          prev.nextTimer = t.nextTimer;
+        }
+        light.nextTimer = null;
+        return;
+      }
+    }
+  }
+
+  // Move time forward one second and hand every due light to the controller.
+  // Returns the number of lights that changed color.
+  public int advance() {
+    now++;
+    int bucket = (int) (now & MASK);
+    TrafficLight light = buckets[bucket];
+    buckets[bucket] = null;
+
+    int changed = 0;
+    while (light != null) {
+      TrafficLight next = light.nextTimer;
+      if (light.deadline == now) {
+        LightColor before = light.getColor();
+        int queue = queues != null ? queues.get(light.id) : 0;
+        int delay = controller.onTimer(light, (int) (now - light.phaseStart), queue);
+        if (light.getColor() != before) {
+          light.phaseStart = now;
+          changed++;
+        }
+        schedule(light, delay);
+      } else {
+        // Due on a later turn of the wheel, put it back
+        light.nextTimer = buckets[bucket];
+        buckets[bucket] = light;
+      }
+      light = next;
+    }
+    fired += changed;
+    return changed;
+  }
+
+  // Setters
+  public void setController(SignalController controller) {
+    this.controller = controller;
+  }
+
+  public void setQueues(ApproachQueues queues) {
+    this.queues = queues;
+  }
+
+  // Seconds until the light's timer next runs out
+  public int getRemaining(TrafficLight light) {
+    return (int) (light.deadline - now);
+  }
+
+  // Getters
+  public long getNow() {
+    return now;
+  }
+
+  public long getFired() {
+    return fired;
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * File: LoadGenerator.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Seeded arrival generator for stress-testing the engine with bulk demand.
+ *          Each tick the engine asks every generator for its arrivals, and the generator
+ *          adds them as one batch between ticks (one lock, one array growth), so bulk
+ *          adds never interrupt a running tick. Arrivals follow one of three patterns:
+ *            poisson:RATE                  RATE cars per simulated second on average
+ *            rush:BASE:PEAK:PERIOD         rate ramps from BASE up to PEAK and back down
+ *                                          over every PERIOD seconds
+ *            burst:SIZE:INTERVAL[:BASE]    SIZE cars at once every INTERVAL seconds, plus
+ *                                          BASE cars per second in between
+ *          Speeds are uniform in [MINSPEED, MAXSPEED] and lanes uniform; the same seed and
+ *          spec always produce the same arrivals at the same ticks.
+ */
+
+package trafficsim;
+
+import java.util.Random;
+
+public class LoadGenerator {
+  // Arrival patterns
+  public enum Pattern { POISSON, RUSH_HOUR, BURST }
+
+  // Fields
+  private final Pattern pattern;
+  private final double baseRate;     // Cars per simulated second
+  private final double peakRate;     // Rush hour only
+  private final int period;          // Rush hour period or burst interval, seconds
+  private final int burstSize;
+  private final Random random;
+  private int[] speeds = new int[64];  // Batch buffers, reused every tick
+  private int[] lanes = new int[64];
+  private long injected;
+
+  // Final fields
+  public static final int MAXRATE = 100_000;  // Cars per simulated second
+  public static final int MINSPEED = 100;     // m/s, like the default cars
+  public static final int MAXSPEED = 200;
+  public static final int SMALLMEAN = 30;     // Exact Poisson sampling below this mean
+
+  // Constructor
+  public LoadGenerator(Pattern pattern, double baseRate, double peakRate, int period, int burstSize,
+      long seed) {
+    if (baseRate < 0 || baseRate > MAXRATE || peakRate < 0 || peakRate > MAXRATE) {
+      throw new IllegalArgumentException("Arrival rates must be between 0 and " + MAXRATE + " cars/s");
+    }
+    if (burstSize < 0 || burstSize > MAXRATE) {
+      throw new IllegalArgumentException("Burst size must be between 0 and " + MAXRATE);
+    }
+    if (pattern != Pattern.POISSON && period <= 0) {
+      throw new IllegalArgumentException("Period must be positive: " + period);
+    }
+    this.pattern = pattern;
+    this.baseRate = baseRate;
+    this.peakRate = peakRate;
+    this.period = period;
+    this.burstSize = burstSize;
+    this.random = new Random(seed);
+  }
+
+  // Build a generator from a spec such as "poisson:2000", "rush:100:20000:3600" or "burst:50000:600"
+  public static LoadGenerator parse(String spec, long seed) {
+    String[] parts = spec.split(":");
+    try {
+      switch (parts[0]) {
+        case "poisson":
+          return new LoadGenerator(Pattern.POISSON, Double.parseDouble(parts[1]), 0, 0, 0, seed);
+        case "rush":
+          return new LoadGenerator(Pattern.RUSH_HOUR, Double.parseDouble(parts[1]),
+              Double.parseDouble(parts[2]), Integer.parseInt(parts[3]), 0, seed);
+        case "burst":
+          return new LoadGenerator(Pattern.BURST, parts.length > 3 ? Double.parseDouble(parts[3]) : 0, 0,
+              Integer.parseInt(parts[2]), Integer.parseInt(parts[1]), seed);
+        default:
+          break;
+      }
+    } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+      throw new IllegalArgumentException("Bad load spec: " + spec, e);
+    }
+    throw new IllegalArgumentException("Unknown load pattern: " + spec);
+  }
+
+  // Mean arrival rate (cars per simulated second) at the given simulated time
+  public double rateAt(int seconds) {
+    if (pattern != Pattern.RUSH_HOUR) {
+      return baseRate;
+    }
+    // Triangle: base at the start of each period, peak halfway through
+    double phase = Math.floorMod(seconds, period) / (double) period;
+    double ramp = phase < 0.5 ? 2 * phase : 2 * (1 - phase);
+    return baseRate + (peakRate - baseRate) * ramp;
+  }
+
+  // Number of cars arriving during the tick that ends at the given simulated time
+  public int arrivalsAt(int seconds) {
+    int count = poisson(rateAt(seconds) * SimulationEngine.TICKSECONDS);
+    if (pattern == Pattern.BURST && seconds % period == 0) {
+      count += burstSize;
+    }
+    return count;
+  }
+
+  // Engine side, under the engine lock: add this tick's arrivals as one batch
+  void inject(SimulationEngine engine, int seconds) {
+    int count = arrivalsAt(seconds);
+    if (count == 0) {
+      return;
+    }
+    if (speeds.length < count) {
+      int capacity = Math.max(count, speeds.length * 2);
+      speeds = new int[capacity];
+      lanes = new int[capacity];
+    }
+    for (int i = 0; i < count; i++) {
+      speeds[i] = MINSPEED + random.nextInt(MAXSPEED - MINSPEED + 1);
+      lanes[i] = random.nextInt(SimulationEngine.LANES);
+    }
+    engine.addCars(speeds, lanes, count);
+    injected += count;
+  }
+
+  // Poisson sample: exact (Knuth) for small means, normal approximation for large ones
+  private int poisson(double mean) {
+    if (mean <= 0) {
+      return 0;
+    }
+    if (mean < SMALLMEAN) {
+      double limit = Math.exp(-mean);
+      double product = random.nextDouble();
+      int count = 0;
+      while (product > limit) {
+        product *= random.nextDouble();
+        count++;
+      }
+      return count;
+    }
+    return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * random.nextGaussian()));
+  }
+
+  // Getters
+  public Pattern getPattern() {
+    return pattern;
+  }
+
+  public long getInjected() {
+    return injected;
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * File: NetworkSimulation.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Fixed-timestep simulation of cars driving routes through a RoadNetwork.
+ *          Each car's x is its distance along its current edge and its y is its lane
+ *          offset, stored in a CarStore next to per-car edge, route and route-step
+ *          arrays. A car stops at the end of its edge while that approach is red,
+ *          keeps MINGAP behind the car ahead in its lane, and at the end of the edge
+ *          carries its leftover distance onto the next edge of its route.
+ *          Routes between intersections come from a shared RouteCache. A car that
+ *          finishes its route is retired, and the next car added takes its slot.
+ *          Like SimulationEngine, every decision reads lights and leaders as they
+ *          were at the start of the tick; only the tail of each lane moves within a
+ *          tick, as cars merge into it, so later entrants still keep MINGAP.
+ */
+
+package trafficsim;
+
+import java.util.Arrays;
+
+public class NetworkSimulation {
+  // Fields
+  private final RoadNetwork network;
+  private final CarStore cars = new CarStore();
+  private int[] carEdge = new int[CarStore.DEFAULTCAPACITY];   // Current edge per car
+  private int[][] carRoutes = new int[CarStore.DEFAULTCAPACITY][];  // Route edges per car (shared)
+  private int[] carStep = new int[CarStore.DEFAULTCAPACITY];   // Index of carEdge in the route
+  private int[] laneKeys = new int[CarStore.DEFAULTCAPACITY];  // edge * MAXLANES + lane
+  private final RouteCache routeCache;
+  private final LaneIndex laneIndex = new LaneIndex();
+  private final LightScheduler lightScheduler = new LightScheduler();
+  private int scheduledEdges;                                  // Edges whose lights are scheduled
+  private boolean[] redView = new boolean[0];                  // Approach lights at tick start
+  private int[] entryTail = new int[0];                        // Last entry x per lane key this tick
+  private int[] entryTick = new int[0];                        // Tick that wrote entryTail
+  private int ticks;
+  private int seconds;
+  private long arrivals;
+
+  // Final fields
+  public static final int MINGAP = SimulationEngine.MINGAP;
+
+  // Constructor
+  public NetworkSimulation(RoadNetwork network) {
+    this.network = network;
+    this.routeCache = new RouteCache(network);
+  }
+
+  // Route through the given intersections, which must be joined by roads
+  public int[] routeThrough(int... nodes) {
+    int[] edges = new int[nodes.length - 1];
+    for (int k = 0; k < edges.length; k++) {
+      edges[k] = network.findEdge(nodes[k], nodes[k + 1]);
+      if (edges[k] < 0) {
+        throw new IllegalArgumentException("No road from " + nodes[k] + " to " + nodes[k + 1]);
+      }
+    }
+    return edges;
+  }
+
+  // Add a car on a shortest route between two intersections (cached per pair) and
+  // return its index, or -1 if the destination cannot be reached
+  public int addTrip(int origin, int destination, int speed, int lane) {
+    int[] route = routeCache.route(origin, destination);
+    return route.length == 0 ? -1 : addCar(route, speed, lane);
+  }
+
+  // Add a car at the start of a route of connected edges, in the given lane, and
+  // return its index (the slot of a car that arrived, if any). The route array may be
+  // shared between cars.
+  public int addCar(int[] route, int speed, int lane) {
+    if (route.length == 0) {
+      throw new IllegalArgumentException("Empty route");
+    }
+    for (int k = 1; k < route.length; k++) {
+      if (network.getEdgeTo(route[k - 1]) != network.getEdgeFrom(route[k])) {
+        throw new IllegalArgumentException("Route edges " + route[k - 1] + " and " + route[k] + " are not connected");
+      }
+    }
+    int edge = route[0];
+    lane = Math.min(lane, network.getEdgeLanes(edge) - 1);
+    int i = cars.add(speed, lane * LaneIndex.LANEWIDTH);
+    if (carEdge.length <= i) {
+      int capacity = Math.max(i + 1, carEdge.length * 2);
+      carEdge = Arrays.copyOf(carEdge, capacity);
+      carRoutes = Arrays.copyOf(carRoutes, capacity);
+      carStep = Arrays.copyOf(carStep, capacity);
+      laneKeys = Arrays.copyOf(laneKeys, capacity);
+    }
+    carEdge[i] = edge;
+    carRoutes[i] = route;
+    carStep[i] = 0;
+    return i;
+  }
+
+  // Advance the whole network by one tick
+  public void tick() {
+    scheduleNewLights();
+
+    // Cars read the lights and their leaders as they were at the start of the tick
+    int edgeCount = network.getEdgeCount();
+    for (int e = 0; e < edgeCount; e++) {
+      redView[e] = network.getLight(e).isRed();
+    }
+    int count = cars.size();
+    for (int i = 0; i < count; i++) {
+      laneKeys[i] = cars.getStatus(i) == CarStore.RETIRED
+          ? LaneIndex.NOLANE
+          : laneKey(carEdge[i], LaneIndex.laneOf(cars.getY(i)));
+    }
+    laneIndex.refresh(cars, laneKeys, edgeCount * RoadNetwork.MAXLANES);
+
+    ticks++;  // Invalidates last tick's entryTail
+    arrivals += advanceCars(0, count);
+    lightScheduler.advance();
+    seconds += SimulationEngine.TICKSECONDS;
+  }
+
+  // Run the given number of ticks back to back
+  public void runTicks(long ticks) {
+    for (long i = 0; i < ticks; i++) {
+      tick();
+    }
+  }
+
+  // Move each car along its route; returns how many cars finished their route this tick
+  private int advanceCars(int from, int to) {
+    int arrived = 0;
+    for (int i = from; i < to; i++) {
+      if (cars.getStatus(i) == CarStore.RETIRED) {
+        continue;
+      }
+      int edge = carEdge[i];
+      int length = network.getEdgeLength(edge);
+      int x = cars.getX(i);
+      int limit = x + cars.getOriginalSpeed(i);
+
+      // Car ahead in the same lane
+      int leaderX = laneIndex.getLeaderX(i);
+      if (leaderX != LaneIndex.NOLEADER) {
+        limit = Math.min(limit, leaderX - MINGAP);
+      }
+
+      if (limit >= length) {
+        int[] route = carRoutes[i];
+        if (redView[edge]) {
+          limit = length - 1;  // Wait at the stop line
+        } else if (carStep[i] + 1 == route.length) {
+          retire(i);
+          arrived++;
+          continue;
+        } else {
+          // Carry the leftover distance onto the next edge, behind its last car
+          // (or behind the last car that merged into that lane this tick)
+          int next = route[carStep[i] + 1];
+          int lane = Math.min(LaneIndex.laneOf(cars.getY(i)), network.getEdgeLanes(next) - 1);
+          int key = laneKey(next, lane);
+          int entry = limit - length;
+          int tailX = entryTick[key] == ticks ? entryTail[key] : laneIndex.getTailX(key);
+          if (tailX != LaneIndex.NOLEADER) {
+            entry = Math.min(entry, tailX - MINGAP);
+          }
+          if (entry >= 0) {
+            entryTail[key] = entry;
+            entryTick[key] = ticks;
+            carEdge[i] = next;
+            carStep[i]++;
+            cars.enter(i, entry, lane * LaneIndex.LANEWIDTH, length - x + entry);
+            continue;
+          }
+          limit = length - 1;  // Next edge is backed up to the intersection
+        }
+      }
+
+      if (limit <= x) {
+        cars.stop(i);
+      } else {
+        cars.moveTo(i, limit);
+      }
+    }
+    return arrived;
+  }
+
+  // Free a car's slot for the next car added; its leaders were read at tick start
+  private void retire(int i) {
+    cars.retire(i);
+    carRoutes[i] = null;
+  }
+
+  // Put the approach lights of newly added roads on the timer wheel
+  private void scheduleNewLights() {
+    int edgeCount = network.getEdgeCount();
+    if (scheduledEdges == edgeCount) {
+      return;
+    }
+    for (int e = scheduledEdges; e < edgeCount; e++) {
+      lightScheduler.add(network.getLight(e));
+    }
+    scheduledEdges = edgeCount;
+    redView = Arrays.copyOf(redView, edgeCount);
+    entryTail = Arrays.copyOf(entryTail, edgeCount * RoadNetwork.MAXLANES);
+    entryTick = Arrays.copyOf(entryTick, edgeCount * RoadNetwork.MAXLANES);
+  }
+
+  private static int laneKey(int edge, int lane) {
+    return edge * RoadNetwork.MAXLANES + lane;
+  }
+
+  // Checksum of all car and light state, for comparing runs
+  public long stateHash() {
+    long h = seconds;
+    for (int i = 0; i < cars.size(); i++) {
+      h = 31 * h + carEdge[i];
+      h = 31 * h + cars.getX(i);
+      h = 31 * h + cars.getY(i);
+      h = 31 * h + cars.getSpeed(i);
+      h = 31 * h + cars.getStatus(i);
+    }
+    for (int e = 0; e < network.getEdgeCount(); e++) {
+      h = 31 * h + network.getLight(e).getColor().ordinal();
+    }
+    return h;
+  }
+
+  // Getters
+  public RoadNetwork getNetwork() {
+    return network;
+  }
+
+  public CarStore getCars() {
+    return cars;
+  }
+
+  public int getEdge(int car) {
+    return carEdge[car];
+  }
+
+  public RouteCache getRouteCache() {
+    return routeCache;
+  }
+
+  public int getSeconds() {
+    return seconds;
+  }
+
+  public long getArrivals() {
+    return arrivals;
+  }
+
+  public LightScheduler getLightScheduler() {
+    return lightScheduler;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * File: ReplayRunner.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Replays an EventLog at maximum speed and checks that the run is identical.
+ *          Starts from the default scenario with the setup from the log header (load
+ *          generators, exit position, signal control), applies each recorded input after
+ *          the same tick it was applied in the original run, and compares the state hash at
+ *          every RESET and at the END of the log. A green wave is applied before the first
+ *          tick, once the lights added at tick 0 exist, as in the original run. Pauses and
+ *          resumes are counted but take no simulated time, so the replay runs without them.
+ *
+ *          Usage: java trafficsim.ReplayRunner LOG [--workers N]
+ */
+
+package trafficsim;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+public class ReplayRunner {
+  // Fields
+  private final SimulationEngine engine;
+  private final EventLog.Setup setup;
+  private boolean started;  // Ticked at least once (green wave applied)
+  private int checks;
+  private int mismatches;
+  private int pauses;
+
+  // Constructor
+  public ReplayRunner(int workers, EventLog.Setup setup) {
+    this.setup = setup;
+    engine = new SimulationEngine(workers);
+    engine.addDefaultScenario();
+    setup.applyTo(engine);
+  }
+
+  // Apply every entry in order; returns true if every recorded hash matched
+  public boolean replay(List<EventLog.Entry> entries) {
+    for (EventLog.Entry entry : entries) {
+      long ticks = entry.getTick() - engine.getSeconds() / SimulationEngine.TICKSECONDS;
+      if (ticks > 0 && !started) {
+        setup.applyGreenWave(engine);
+        started = true;
+      }
+      engine.runTicks(ticks);
+      switch (entry.getType()) {
+        case ADD_CAR: engine.addNextCar(); break;
+        case ADD_INTERSECTION: engine.addNextLight(); break;
+        case PAUSE: pauses++; break;
+        case RESUME: break;
+        case RESET:
+          verify(entry);
+          engine.reset();
+          break;
+        case END: verify(entry); break;
+        default:
+          throw new IllegalStateException("Unknown event " + entry.getType());
+      }
+    }
+    return mismatches == 0;
+  }
+
+  // Compare the replayed state with the recorded hash
+  private void verify(EventLog.Entry entry) {
+    checks++;
+    long hash = engine.stateHash();
+    if (hash != entry.getHash()) {
+      mismatches++;
+      System.out.printf("Mismatch at tick %d (%s): recorded %016x, replayed %016x%n",
+          entry.getTick(), entry.getType(), entry.getHash(), hash);
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path file = Paths.get(args[0]);
+    int workers = 1;
+    for (int i = 1; i < args.length; i++) {
+      if (args[i].equals("--workers")) {
+        workers = Integer.parseInt(args[++i]);
+      } else {
+        throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+
+    List<EventLog.Entry> entries = EventLog.read(file);
+    EventLog.Setup setup = EventLog.readSetup(file);
+    ReplayRunner runner = new ReplayRunner(workers, setup);
+    long startNanos = System.nanoTime();
+    boolean identical = runner.replay(entries);
+    double wallSeconds = (System.nanoTime() - startNanos) / 1e9;
+    runner.engine.shutdown();
+
+    System.out.printf("Replayed %d events (seed %d, %d pauses) to t=%d s in %.3f s wall time%n",
+        entries.size(), setup.getSeed(), runner.pauses, runner.engine.getSeconds(), wallSeconds);
+    System.out.printf("State hash: %016x%n", runner.engine.stateHash());
+    System.out.println(identical
+        ? "Identical: " + runner.checks + " of " + runner.checks + " checkpoints matched"
+        : "DIVERGED: " + runner.mismatches + " of " + runner.checks + " checkpoints differ");
+    if (!identical) {
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * File: RoadCanvas.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Custom-painted view of the road, its lights and its cars.
+ *          Each frame is drawn straight into the int pixels of one BufferedImage from the
+ *          latest simulation snapshot, culled to the visible stretch of road, and then
+ *          blitted in paintComponent. Zoomed in (DETAILMPP meters per pixel or less) every
+ *          car is drawn in its status color; zoomed out, cars are binned per pixel column
+ *          and lane into a log-scaled density heatmap (red = jammed), so a frame costs one pass over the
+ *          cars however many are on screen. Positions (x) are to scale, lanes are not.
+ *          Mouse wheel zooms around the cursor, dragging pans, double-click fits the road.
+ */
+
+package trafficsim;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+public class RoadCanvas extends JComponent {
+  // Fields
+  private BufferedImage image;
+  private int[] pixels;
+  private int[] density = new int[0];  // Cars per lane row and pixel column (heatmap)
+  private SimulationSnapshot snapshot;
+  private double leftMeters = 0;       // Road position at the left edge
+  private double metersPerPixel = 10;
+  private boolean fitted;              // False until the view was fitted or moved by hand
+  private int dragX;
+
+  // Final fields
+  public static final double DETAILMPP = 1.0;    // Draw single cars at this zoom or closer
+  public static final double MINMPP = 0.05;
+  public static final double MAXMPP = 1_000_000;
+  public static final double ZOOMSTEP = 1.25;    // Per mouse wheel notch
+  public static final int CARLENGTH = 5;         // Meters drawn per car
+  public static final int MARGIN = 20;           // Pixels above and below the road
+  public static final int MAXLANEPIXELS = 24;
+  public static final int FITMARGIN = 1000;      // Meters shown past the last light when fitting
+  private static final long serialVersionUID = 1L;
+  private static final int GRASS = 0x2E5E2E;
+  private static final int ASPHALT = 0x404040;
+  private static final int LANEMARK = 0x9A9A9A;
+  private static final int[] STATUSCOLORS = {0xB0B0B0, 0x4FC3F7, 0xE53935, 0x8E8E8E, 0};  // By status code
+  private static final int[] LIGHTCOLORS = {0x22B822, 0xFFD700, 0xD03030};               // By LightColor
+  private static final int[] HEAT = heatPalette();
+
+  // Constructor
+  public RoadCanvas() {
+    setPreferredSize(new Dimension(660, 140));
+    setOpaque(true);
+    MouseAdapter mouse = new MouseAdapter() {
+      public void mousePressed(MouseEvent e) {
+        dragX = e.getX();
+      }
+
+      public void mouseDragged(MouseEvent e) {
+        leftMeters -= (e.getX() - dragX) * metersPerPixel;
+        dragX = e.getX();
+        fitted = true;
+        redraw();
+      }
+
+      public void mouseWheelMoved(MouseWheelEvent e) {
+        double anchor = leftMeters + e.getX() * metersPerPixel;  // Keep this point under the cursor
+        double factor = Math.pow(ZOOMSTEP, e.getPreciseWheelRotation());
+        metersPerPixel = Math.max(MINMPP, Math.min(MAXMPP, metersPerPixel * factor));
+        leftMeters = anchor - e.getX() * metersPerPixel;
+        fitted = true;
+        redraw();
+      }
+
+      public void mouseClicked(MouseEvent e) {
+        if (e.getClickCount() == 2) {
+          fitToRoad();
+          redraw();
+        }
+      }
+    };
+    addMouseListener(mouse);
+    addMouseMotionListener(mouse);
+    addMouseWheelListener(mouse);
+  }
+
+  // Show a new snapshot (EDT)
+  public void render(SimulationSnapshot snap) {
+    snapshot = snap;
+    if (!fitted) {
+      fitToRoad();
+    }
+    redraw();
+  }
+
+  // Zoom so the whole road up to past the last light fits the width
+  private void fitToRoad() {
+    if (snapshot == null || getWidth() == 0) {
+      return;
+    }
+    int end = FITMARGIN;
+    for (int k = 0; k < snapshot.getLightCount(); k++) {
+      end = Math.max(end, snapshot.getLightPosition(k) + FITMARGIN);
+    }
+    leftMeters = 0;
+    metersPerPixel = Math.max(MINMPP, end / (double) getWidth());
+    fitted = snapshot.getLightCount() > 0;  // Keep fitting until the lights are known
+  }
+
+  // Draw the current snapshot into the image and schedule a repaint
+  private void redraw() {
+    int width = getWidth();
+    int height = getHeight();
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+    if (image == null || image.getWidth() != width || image.getHeight() != height) {
+      image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+    Arrays.fill(pixels, GRASS);
+    if (snapshot == null) {
+      repaint();
+      return;
+    }
+
+    // The engine's lanes (y is the lane offset); any car further out is drawn in the last lane
+    int lanes = SimulationEngine.LANES;
+    int laneHeight = Math.max(1, Math.min(MAXLANEPIXELS, (height - 2 * MARGIN) / lanes));
+    int roadTop = Math.max(0, (height - lanes * laneHeight) / 2);
+    int roadBottom = Math.min(height, roadTop + lanes * laneHeight);
+    fillRect(0, roadTop, width, roadBottom, ASPHALT, width, height);
+    for (int lane = 1; lane < lanes && laneHeight >= 4; lane++) {
+      int row = roadTop + lane * laneHeight;
+      for (int col = 0; col < width; col += 8) {
+        fillRect(col, row, col + 4, row + 1, LANEMARK, width, height);
+      }
+    }
+
+    if (metersPerPixel <= DETAILMPP) {
+      drawCars(width, height, roadTop, laneHeight);
+    } else {
+      drawDensity(width, height, lanes, roadTop, laneHeight);
+    }
+    drawLights(width, height, roadTop, roadBottom);
+    repaint();
+  }
+
+  // One rectangle per visible car, colored by status
+  private void drawCars(int width, int height, int roadTop, int laneHeight) {
+    double scale = 1 / metersPerPixel;
+    double right = leftMeters + width * metersPerPixel;
+    int inset = laneHeight >= 6 ? 2 : 0;
+    for (int i = 0; i < snapshot.getCarCount(); i++) {
+      int x = snapshot.getX(i);
+      byte status = snapshot.getStatus(i);
+      if (x < leftMeters || x - CARLENGTH > right || status == CarStore.RETIRED) {
+        continue;  // Off screen
+      }
+      int front = (int) ((x - leftMeters) * scale);
+      int back = (int) ((x - CARLENGTH - leftMeters) * scale);
+      int top = roadTop + laneOf(snapshot.getY(i)) * laneHeight + inset;
+      fillRect(back, top, Math.max(front, back + 1), top + laneHeight - 2 * inset, STATUSCOLORS[status],
+          width, height);
+    }
+  }
+
+  // Cars per pixel column and lane, drawn on a log scale
+  private void drawDensity(int width, int height, int lanes, int roadTop, int laneHeight) {
+    int cells = lanes * width;
+    if (density.length < cells) {
+      density = new int[cells];
+    }
+    Arrays.fill(density, 0, cells, 0);
+    double scale = 1 / metersPerPixel;
+    boolean any = false;
+    for (int i = 0; i < snapshot.getCarCount(); i++) {
+      double col = (snapshot.getX(i) - leftMeters) * scale;
+      if (col < 0 || col >= width || snapshot.getStatus(i) == CarStore.RETIRED) {
+        continue;  // Off screen
+      }
+      int cell = laneOf(snapshot.getY(i)) * width + (int) col;
+      density[cell]++;
+      any = true;
+    }
+    if (!any) {
+      return;
+    }
+
+    // Red = queued bumper to bumper (one car per MINGAP meters), the same scale every frame
+    double jam = Math.max(1, metersPerPixel / SimulationEngine.MINGAP);
+    double norm = (HEAT.length - 1) / Math.log1p(jam);
+    for (int lane = 0; lane < lanes; lane++) {
+      int top = roadTop + lane * laneHeight;
+      for (int col = 0; col < width; col++) {
+        int count = density[lane * width + col];
+        if (count > 0) {
+          fillRect(col, top, col + 1, top + laneHeight, HEAT[(int) Math.min(HEAT.length - 1, Math.log1p(count) * norm)], width, height);
+        }
+      }
+    }
+  }
+
+  // A bar across the road at each visible light
+  private void drawLights(int width, int height, int roadTop, int roadBottom) {
+    double scale = 1 / metersPerPixel;
+    for (int k = 0; k < snapshot.getLightCount(); k++) {
+      double col = (snapshot.getLightPosition(k) - leftMeters) * scale;
+      if (col < 0 || col >= width) {
+        continue;
+      }
+      int c = (int) col;
+      int color = LIGHTCOLORS[snapshot.getLightColor(k).ordinal()];
+      fillRect(c, roadTop - 6, c + 2, roadBottom + 6, color, width, height);
+    }
+  }
+
+  private static int laneOf(int y) {
+    return Math.min(SimulationEngine.LANES - 1, LaneIndex.laneOf(y));
+  }
+
+  // Fill [x0, x1) x [y0, y1), clipped to the image
+  private void fillRect(int x0, int y0, int x1, int y1, int rgb, int width, int height) {
+    x0 = Math.max(0, x0);
+    y0 = Math.max(0, y0);
+    x1 = Math.min(width, x1);
+    y1 = Math.min(height, y1);
+    for (int y = y0; y < y1; y++) {
+      Arrays.fill(pixels, y * width + x0, Math.max(y * width + x0, y * width + x1), rgb);
+    }
+  }
+
+  // Dark blue through yellow to red
+  private static int[] heatPalette() {
+    int[] palette = new int[256];
+    for (int i = 0; i < palette.length; i++) {
+      float t = i / 255f;
+      palette[i] = Color.HSBtoRGB(0.6f * (1 - t), 0.85f, 0.8f + 0.2f * t) & 0xFFFFFF;
+    }
+    return palette;
+  }
+
+  protected void paintComponent(Graphics g) {
+    if (image == null || image.getWidth() != getWidth() || image.getHeight() != getHeight()) {
+      redraw();
+    }
+    if (image != null) {
+      g.drawImage(image, 0, 0, null);
+    }
+    g.setColor(Color.WHITE);
+    g.setFont(getFont() != null ? getFont().deriveFont(Font.PLAIN, 11f) : g.getFont());
+    g.drawString(String.format("%.0fm - %.0fm (%s)", leftMeters, leftMeters + getWidth() * metersPerPixel,
+        metersPerPixel <= DETAILMPP ? "cars" : "density"), 4, 12);
+  }
+}
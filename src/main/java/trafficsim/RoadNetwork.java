@@ -0,0 +1,221 @@
+/*
+ * File: RoadNetwork.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Directed road graph of intersections (nodes) and road segments (edges).
+ *          Edges are stored as parallel primitive arrays indexed by edge id, and the
+ *          outgoing edges of each node are kept in compressed sparse row (CSR) form:
+ *          node n's edges are outEdges[outStart[n] .. outStart[n + 1]). Each edge
+ *          owns the traffic light at its downstream end (one light per approach).
+ *          Adding an intersection or road bumps the version; the CSR index is
+ *          rebuilt lazily on the next lookup. Edge ids never change.
+ */
+
+package trafficsim;
+
+import java.util.Arrays;
+
+public class RoadNetwork {
+  // Fields
+  private int nodeCount;
+  private int[] nodeX = new int[16];
+  private int[] nodeY = new int[16];
+
+  private int edgeCount;
+  private int[] edgeFrom = new int[16];
+  private int[] edgeTo = new int[16];
+  private int[] edgeLength = new int[16];
+  private byte[] edgeLanes = new byte[16];
+  private TrafficLight[] edgeLights = new TrafficLight[16];
+  private int maxLanes = 1;
+
+  private int[] outStart = new int[1];  // CSR row offsets, nodeCount + 1 entries
+  private int[] outEdges = new int[0];  // Edge ids grouped by source node
+  private int version;                  // Bumped on every topology change
+  private int indexedVersion = -1;      // Version the CSR arrays were built for
+
+  // Final fields (approach light timing in seconds; cross streets alternate)
+  public static final int GREENDURATION = 10;
+  public static final int YELLOWDURATION = 3;
+  public static final int REDDURATION = GREENDURATION + YELLOWDURATION;
+  public static final int MAXLANES = 4;
+
+  // Build a rows x cols grid of intersections spacing meters apart, with two-way
+  // roads of the given lane count between neighbors
+  public static RoadNetwork grid(int rows, int cols, int spacing, int lanes) {
+    RoadNetwork network = new RoadNetwork();
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        network.addIntersection(c * spacing, r * spacing);
+      }
+    }
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        int node = r * cols + c;
+        if (c + 1 < cols) {
+          network.addTwoWayRoad(node, node + 1, lanes);
+        }
+        if (r + 1 < rows) {
+          network.addTwoWayRoad(node, node + cols, lanes);
+        }
+      }
+    }
+    return network;
+  }
+
+  // Add an intersection at (x, y) and return its node id
+  public int addIntersection(int x, int y) {
+    if (nodeCount == nodeX.length) {
+      nodeX = Arrays.copyOf(nodeX, nodeCount * 2);
+      nodeY = Arrays.copyOf(nodeY, nodeCount * 2);
+    }
+    nodeX[nodeCount] = x;
+    nodeY[nodeCount] = y;
+    version++;
+    return nodeCount++;
+  }
+
+  // Add a one-way road from one intersection to another and return its edge id.
+  // The road's light is timed by direction: north-south approaches start green and
+  // east-west approaches start red, so crossing streets never show green together.
+  public int addRoad(int from, int to, int lanes) {
+    checkNode(from);
+    checkNode(to);
+    if (from == to || lanes < 1 || lanes > MAXLANES) {
+      throw new IllegalArgumentException("Invalid road " + from + " -> " + to + " with " + lanes + " lanes");
+    }
+    if (edgeCount == edgeFrom.length) {
+      int capacity = edgeCount * 2;
+      edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+      edgeTo = Arrays.copyOf(edgeTo, capacity);
+      edgeLength = Arrays.copyOf(edgeLength, capacity);
+      edgeLanes = Arrays.copyOf(edgeLanes, capacity);
+      edgeLights = Arrays.copyOf(edgeLights, capacity);
+    }
+    int dx = nodeX[to] - nodeX[from];
+    int dy = nodeY[to] - nodeY[from];
+    int length = Math.max(1, (int) Math.round(Math.sqrt((double) dx * dx + (double) dy * dy)));
+
+    TrafficLight light = new TrafficLight(length, LightColor.GREEN, "Light " + from + "->" + to);
+    light.setDurations(GREENDURATION, YELLOWDURATION, REDDURATION);
+    if (Math.abs(dx) > Math.abs(dy)) {
+      light.setOffset(GREENDURATION + YELLOWDURATION);
+    }
+
+    int e = edgeCount++;
+    edgeFrom[e] = from;
+    edgeTo[e] = to;
+    edgeLength[e] = length;
+    edgeLanes[e] = (byte) lanes;
+    edgeLights[e] = light;
+    maxLanes = Math.max(maxLanes, lanes);
+    version++;
+    return e;
+  }
+
+  // Add roads in both directions and return the id of the forward edge
+  public int addTwoWayRoad(int a, int b, int lanes) {
+    int forward = addRoad(a, b, lanes);
+    addRoad(b, a, lanes);
+    return forward;
+  }
+
+  // Edge id of the road from one node to another, or -1 if there is none
+  public int findEdge(int from, int to) {
+    ensureIndex();
+    for (int k = outStart[from]; k < outStart[from + 1]; k++) {
+      if (edgeTo[outEdges[k]] == to) {
+        return outEdges[k];
+      }
+    }
+    return -1;
+  }
+
+  // Outgoing edges of a node are getOutEdge(k) for k in [getOutStart(node), getOutEnd(node))
+  public int getOutStart(int node) {
+    ensureIndex();
+    return outStart[node];
+  }
+
+  public int getOutEnd(int node) {
+    ensureIndex();
+    return outStart[node + 1];
+  }
+
+  public int getOutEdge(int k) {
+    return outEdges[k];
+  }
+
+  // Rebuild the CSR adjacency arrays after a topology change (counting sort by source)
+  private void ensureIndex() {
+    if (indexedVersion == version) {
+      return;
+    }
+    int[] start = new int[nodeCount + 1];
+    for (int e = 0; e < edgeCount; e++) {
+      start[edgeFrom[e] + 1]++;
+    }
+    for (int n = 0; n < nodeCount; n++) {
+      start[n + 1] += start[n];
+    }
+    int[] fill = Arrays.copyOf(start, nodeCount);
+    int[] edges = new int[edgeCount];
+    for (int e = 0; e < edgeCount; e++) {
+      edges[fill[edgeFrom[e]]++] = e;
+    }
+    outStart = start;
+    outEdges = edges;
+    indexedVersion = version;
+  }
+
+  private void checkNode(int node) {
+    if (node < 0 || node >= nodeCount) {
+      throw new IllegalArgumentException("No intersection " + node);
+    }
+  }
+
+  // Getters
+  public int getNodeCount() {
+    return nodeCount;
+  }
+
+  public int getNodeX(int node) {
+    return nodeX[node];
+  }
+
+  public int getNodeY(int node) {
+    return nodeY[node];
+  }
+
+  public int getEdgeCount() {
+    return edgeCount;
+  }
+
+  public int getEdgeFrom(int e) {
+    return edgeFrom[e];
+  }
+
+  public int getEdgeTo(int e) {
+    return edgeTo[e];
+  }
+
+  public int getEdgeLength(int e) {
+    return edgeLength[e];
+  }
+
+  public int getEdgeLanes(int e) {
+    return edgeLanes[e];
+  }
+
+  public TrafficLight getLight(int e) {
+    return edgeLights[e];
+  }
+
+  public int getMaxLanes() {
+    return maxLanes;
+  }
+
+  public int getVersion() {
+    return version;
+  }
+}
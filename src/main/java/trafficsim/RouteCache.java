@@ -0,0 +1,239 @@
+/*
+ * File: RouteCache.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Shortest-path routing over a RoadNetwork with a bounded LRU route cache.
+ *          Routes are found with A* (straight-line distance to the destination is the
+ *          heuristic, which never overestimates because road lengths are straight-line
+ *          distances) and returned as arrays of edge ids. Each origin/destination pair
+ *          is computed once and the same array is handed to every car making that trip.
+ *          The cache evicts least recently used routes to stay under a byte budget and
+ *          is cleared whenever the network's topology version changes.
+ */
+
+package trafficsim;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RouteCache {
+  // Fields
+  private final RoadNetwork network;
+  private final long budgetBytes;
+  private final LinkedHashMap<Long, int[]> routes = new LinkedHashMap<>(256, 0.75f, true);
+  private long usedBytes;
+  private int cachedVersion;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  // Search scratch, reused between searches (stamp marks which entries are current)
+  private int[] dist = new int[0];
+  private int[] viaEdge = new int[0];
+  private int[] stamp = new int[0];
+  private int currentStamp;
+  private int[] heapNode = new int[0];
+  private int[] heapKey = new int[0];
+  private int heapSize;
+
+  // Final fields
+  public static final long DEFAULTBUDGET = 64L << 20;  // 64 MB of cached routes
+  public static final int ENTRYOVERHEAD = 96;          // Map entry, key and array headers
+  public static final int[] NOROUTE = new int[0];      // Destination unreachable
+
+  // Constructors
+  public RouteCache(RoadNetwork network) {
+    this(network, DEFAULTBUDGET);
+  }
+
+  public RouteCache(RoadNetwork network, long budgetBytes) {
+    this.network = network;
+    this.budgetBytes = budgetBytes;
+    this.cachedVersion = network.getVersion();
+  }
+
+  // Edge ids of a shortest route between two intersections, NOROUTE if unreachable.
+  // The returned array is shared and must not be modified.
+  public int[] route(int origin, int destination) {
+    if (network.getVersion() != cachedVersion) {
+      clear();
+      cachedVersion = network.getVersion();
+    }
+    Long key = ((long) origin << 32) | (destination & 0xffffffffL);
+    int[] route = routes.get(key);
+    if (route != null) {
+      hits++;
+      return route;
+    }
+    misses++;
+    route = search(origin, destination);
+    routes.put(key, route);
+    usedBytes += sizeOf(route);
+    evictToBudget();
+    return route;
+  }
+
+  // Drop every cached route
+  public void clear() {
+    routes.clear();
+    usedBytes = 0;
+  }
+
+  private void evictToBudget() {
+    Iterator<Map.Entry<Long, int[]>> eldest = routes.entrySet().iterator();
+    while (usedBytes > budgetBytes && eldest.hasNext()) {
+      usedBytes -= sizeOf(eldest.next().getValue());
+      eldest.remove();
+      evictions++;
+    }
+  }
+
+  private static long sizeOf(int[] route) {
+    return ENTRYOVERHEAD + 4L * route.length;
+  }
+
+  // A* from origin to destination over the CSR adjacency arrays
+  private int[] search(int origin, int destination) {
+    if (origin == destination) {
+      return NOROUTE;
+    }
+    prepare();
+    int destX = network.getNodeX(destination);
+    int destY = network.getNodeY(destination);
+
+    visit(origin, 0, -1);
+    push(origin, estimate(origin, destX, destY));
+    while (heapSize > 0) {
+      int node = heapNode[0];
+      int key = heapKey[0];
+      pop();
+      if (node == destination) {
+        return pathTo(destination);
+      }
+      if (key - estimate(node, destX, destY) > dist[node]) {
+        continue;  // Stale heap entry
+      }
+      for (int k = network.getOutStart(node); k < network.getOutEnd(node); k++) {
+        int edge = network.getOutEdge(k);
+        int next = network.getEdgeTo(edge);
+        int d = dist[node] + network.getEdgeLength(edge);
+        if (stamp[next] != currentStamp || d < dist[next]) {
+          visit(next, d, edge);
+          push(next, d + estimate(next, destX, destY));
+        }
+      }
+    }
+    return NOROUTE;
+  }
+
+  // Size the scratch arrays for the current network and start a new search
+  private void prepare() {
+    int nodes = network.getNodeCount();
+    if (dist.length < nodes) {
+      dist = new int[nodes];
+      viaEdge = new int[nodes];
+      stamp = new int[nodes];
+      currentStamp = 0;
+    }
+    int edges = network.getEdgeCount() + 1;
+    if (heapNode.length < edges) {
+      heapNode = new int[edges];
+      heapKey = new int[edges];
+    }
+    heapSize = 0;
+    if (++currentStamp == 0) {
+      Arrays.fill(stamp, 0);
+      currentStamp = 1;
+    }
+  }
+
+  private void visit(int node, int d, int edge) {
+    stamp[node] = currentStamp;
+    dist[node] = d;
+    viaEdge[node] = edge;
+  }
+
+  private int estimate(int node, int destX, int destY) {
+    double dx = network.getNodeX(node) - destX;
+    double dy = network.getNodeY(node) - destY;
+    return (int) Math.sqrt(dx * dx + dy * dy);
+  }
+
+  private int[] pathTo(int destination) {
+    int length = 0;
+    for (int node = destination; viaEdge[node] >= 0; node = network.getEdgeFrom(viaEdge[node])) {
+      length++;
+    }
+    int[] path = new int[length];
+    for (int node = destination; viaEdge[node] >= 0; node = network.getEdgeFrom(viaEdge[node])) {
+      path[--length] = viaEdge[node];
+    }
+    return path;
+  }
+
+  // Binary min-heap on heapKey
+  private void push(int node, int key) {
+    if (heapSize == heapNode.length) {
+      heapNode = Arrays.copyOf(heapNode, heapSize * 2);
+      heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+    }
+    int i = heapSize++;
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (heapKey[parent] <= key) {
+        break;
+      }
+      heapNode[i] = heapNode[parent];
+      heapKey[i] = heapKey[parent];
+      i = parent;
+    }
+    heapNode[i] = node;
+    heapKey[i] = key;
+  }
+
+  private void pop() {
+    int node = heapNode[--heapSize];
+    int key = heapKey[heapSize];
+    int i = 0;
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) {
+        child++;
+      }
+      if (key <= heapKey[child]) {
+        break;
+      }
+      heapNode[i] = heapNode[child];
+      heapKey[i] = heapKey[child];
+      i = child;
+    }
+    heapNode[i] = node;
+    heapKey[i] = key;
+  }
+
+  // Getters
+  public int size() {
+    return routes.size();
+  }
+
+  public long getUsedBytes() {
+    return usedBytes;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  public long getEvictions() {
+    return evictions;
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * File: RunControl.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Shared run state (running / paused / stopped) for simulation workers.
+ *          Workers park while paused and are unparked the moment the state changes,
+ *          so pause, resume and stop take effect immediately without any polling.
+ *          Everything a thread wrote before calling pause/resume/stop is visible to a
+ *          worker once it observes the new state (the state is an atomic variable).
+ *          Short-lived workers register for wakeups on every wait; a thread that waits
+ *          on the control for its whole life (the engine thread) is set as the owner
+ *          once instead, so its waits allocate nothing.
+ */
+
+package trafficsim;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class RunControl {
+  // States
+  public static final int RUNNING = 0;
+  public static final int PAUSED = 1;
+  public static final int STOPPED = 2;
+
+  // Fields
+  private final AtomicInteger state = new AtomicInteger(RUNNING);
+  private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+  private volatile Thread owner;       // Always woken, never added to waiters
+  private volatile long pausedAt;
+  private volatile long pausedNanos;  // Total time spent paused so far
+
+  // Control methods (O(1) state change, then wake whoever is parked)
+  public void pause() {
+    if (state.compareAndSet(RUNNING, PAUSED)) {
+      pausedAt = System.nanoTime();
+      wakeAll();
+    }
+  }
+
+  public void resume() {
+    if (state.compareAndSet(PAUSED, RUNNING)) {
+      pausedNanos += System.nanoTime() - pausedAt;
+      wakeAll();
+    }
+  }
+
+  public void stop() {
+    state.set(STOPPED);
+    wakeAll();
+  }
+
+  // Register the calling thread as the owner; call before its first wait
+  public void setOwner() {
+    owner = Thread.currentThread();
+  }
+
+  // Block while paused. Returns false once stopped.
+  public boolean awaitRunning() {
+    int s = state.get();
+    if (s == RUNNING) {
+      return true;
+    }
+    Thread self = Thread.currentThread();
+    boolean register = self != owner;
+    if (register) {
+      waiters.add(self);
+    }
+    try {
+      // Re-check after registering so a concurrent resume cannot be missed
+      while ((s = state.get()) == PAUSED) {
+        LockSupport.park(this);
+      }
+    } finally {
+      if (register) {
+        waiters.remove(self);
+      }
+    }
+    return s == RUNNING;
+  }
+
+  // Wait for the given run time; time spent paused does not count.
+  // Returns false as soon as the control is stopped.
+  public boolean sleep(long nanos) {
+    long deadline = System.nanoTime() + nanos;
+    Thread self = Thread.currentThread();
+    boolean register = self != owner;
+    if (register) {
+      waiters.add(self);
+    }
+    try {
+      while (true) {
+        int s = state.get();
+        if (s == STOPPED) {
+          return false;
+        }
+        if (s == PAUSED) {
+          long start = System.nanoTime();
+          while ((s = state.get()) == PAUSED) {
+            LockSupport.park(this);
+          }
+          deadline += System.nanoTime() - start;
+          continue;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return true;
+        }
+        LockSupport.parkNanos(this, remaining);
+      }
+    } finally {
+      if (register) {
+        waiters.remove(self);
+      }
+    }
+  }
+
+  private void wakeAll() {
+    Thread o = owner;
+    if (o != null) {
+      LockSupport.unpark(o);
+    }
+    for (Thread t : waiters) {
+      LockSupport.unpark(t);
+    }
+  }
+
+  // Getters
+  public int getState() {
+    return state.get();
+  }
+
+  public boolean isStopped() {
+    return state.get() == STOPPED;
+  }
+
+  public long getPausedNanos() {
+    return pausedNanos;
+  }
+}
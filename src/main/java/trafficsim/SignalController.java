@@ -0,0 +1,18 @@
+/*
+ * File: SignalController.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Pluggable signal timing for the lights on the LightScheduler.
+ *          The scheduler calls the controller whenever a light's timer runs out; the
+ *          controller may change the light's color and says when to ask again.
+ *          See FixedTimeController and ActuatedController.
+ */
+
+package trafficsim;
+
+public interface SignalController {
+  // The light's timer ran out after it showed its color for elapsed seconds, with queue
+  // cars stopped in its approach zone. Change the color if needed and return the
+  // seconds until the next call (at least 1).
+  int onTimer(TrafficLight light, int elapsed, int queue);
+}
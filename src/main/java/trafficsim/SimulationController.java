@@ -0,0 +1,158 @@
+/*
+ * File: SimulationController.java
+ * Date: 12/9/2025
+ * Author: Eric Sampson
+ * Purpose: Controller class that manages the simulation.
+ *          Handles button actions, drives the simulation engine, and coordinates all components.
+ */
+
+package trafficsim;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import javax.management.JMException;
+
+public class SimulationController {
+  // Fields
+  private TrafficSimGUI gui;
+  private SimulationEngine engine;
+  private ExecutionMode mode;
+  private EntityThreadRunner entities;  // Only for the thread-per-entity modes
+
+  // Final fields
+  public static final int WORKERS = 1;  // Engine worker threads (1 = single-threaded)
+
+  // Constructor
+  public SimulationController(TrafficSimGUI gui) {
+    this.gui = gui;
+    setupButtonListeners();
+
+    // One engine advances every car and light in a single tick loop and
+    // publishes snapshots that the GUI picks up on its own timer
+    SnapshotBuffer snapshots = new SnapshotBuffer();
+    engine = new SimulationEngine(WORKERS);
+    engine.setSnapshotBuffer(snapshots);
+    gui.setSnapshotSource(snapshots);
+
+    // Metrics over JMX, plus a log line every N seconds with -Dtrafficsim.metrics=N
+    SimulationMetrics metrics = new SimulationMetrics();
+    engine.setMetrics(metrics);
+    gui.setMetrics(metrics);
+    try {
+      metrics.register();
+    } catch (JMException e) {
+      System.out.println("Metrics JMX disabled: " + e.getMessage());
+    }
+    long metricsPeriod = Long.getLong("trafficsim.metrics", 0);
+    if (metricsPeriod > 0) {
+      metrics.startLogging(metricsPeriod);
+    }
+
+    // Create initial traffic lights (1000m apart per requirements) and cars
+    engine.addDefaultScenario();
+    engine.publishSnapshot();
+
+    // The engine always owns the model; the other modes only run it differently
+    mode = ExecutionMode.fromProperty();
+    if (mode != ExecutionMode.ENGINE) {
+      entities = new EntityThreadRunner(mode, engine.getCars(), engine.getLights(),
+          engine.getLightIndex(), snapshots);
+    }
+
+    // Signal control (-Dtrafficsim.signals=fixed|actuated), optional exit (-Dtrafficsim.exit=X:
+    // cars reaching x = X leave and their slots are reused) and optional bulk arrivals
+    // (-Dtrafficsim.load=SPEC, see LoadGenerator, engine mode only)
+    long seed = Long.getLong("trafficsim.seed", 1);
+    String load = System.getProperty("trafficsim.load");
+    if (load != null && mode != ExecutionMode.ENGINE) {
+      System.out.println("Load generator ignored: it needs trafficsim.mode=engine");
+      load = null;
+    }
+    EventLog.Setup setup = new EventLog.Setup(seed,
+        load != null ? Collections.singletonList(load) : Collections.<String>emptyList(),
+        Integer.getInteger("trafficsim.exit", 0), System.getProperty("trafficsim.signals", "fixed"), 0);
+    setup.applyTo(engine);
+    if (entities != null) {
+      entities.setExitPosition(setup.getExitPosition());
+    }
+
+    // Optional input log for ReplayRunner (-Dtrafficsim.eventlog=FILE), with the setup above
+    // in its header; only the engine mode is deterministic enough to replay
+    String eventLogFile = System.getProperty("trafficsim.eventlog");
+    if (eventLogFile != null) {
+      if (mode != ExecutionMode.ENGINE) {
+        System.out.println("Event log ignored: replay needs trafficsim.mode=engine");
+      } else {
+        try {
+          engine.setEventLog(new EventLog(Paths.get(eventLogFile), setup));
+        } catch (IOException e) {
+          System.out.println("Event log disabled: " + e.getMessage());
+        }
+      }
+    }
+  }
+
+  // Button setup
+  private void setupButtonListeners() {
+    gui.getStartButton().addActionListener(e -> start());
+    gui.getPauseButton().addActionListener(e -> pause());
+    gui.getStopButton().addActionListener(e -> stop());
+    gui.getContinueButton().addActionListener(e -> resume());
+    gui.getAddCarButton().addActionListener(e -> addCar());
+    gui.getAddIntersectionButton().addActionListener(e -> addIntersection());
+  }
+
+  // Button logic
+  private void start() {
+    if (entities != null) {
+      entities.start();
+    } else {
+      engine.start();
+    }
+  }
+  
+  private void pause() {
+    if (entities != null) {
+      entities.pause();
+    } else {
+      engine.pause();
+    }
+  }
+  
+  private void resume() {
+    if (entities != null) {
+      entities.resume();
+    } else {
+      engine.resume();
+    }
+  }
+  
+  private void stop() {
+    if (entities != null) {
+      entities.stop();
+    } else {
+      engine.stop();
+    }
+    engine.reset();
+    engine.publishSnapshot();  // Show the reset state
+  }
+
+  // Add a new car to the simulation
+  private void addCar() {
+    int index = engine.addNextCar();
+    if (entities != null) {
+      entities.addCar(index);
+    }
+    engine.publishSnapshot();
+  }
+
+  // Add a new intersection to the simulation
+  private void addIntersection() {
+    TrafficLight light = engine.addNextLight();
+    if (entities != null) {
+      entities.addLight(light);
+    }
+    engine.publishSnapshot();
+  }
+}
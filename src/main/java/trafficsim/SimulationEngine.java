@@ -0,0 +1,573 @@
+/*
+ * File: SimulationEngine.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Central fixed-timestep engine for the simulation.
+ *          Advances every car and traffic light in one deterministic tick loop,
+ *          optionally splitting the cars into contiguous shards on a fork-join pool.
+ *          Cars keep a safe gap behind the car ahead in their lane and queue at red
+ *          lights. Results are identical for any worker count: cars only read a frozen
+ *          view of the lights and of their leaders' positions and only write their own slots.
+ *          With an exit position set, cars that reach it are retired after the tick and
+ *          their slots are reused by later arrivals. The tick keeps a count of the cars
+ *          stopped on each light's approach for the SignalController.
+ */
+
+package trafficsim;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.LockSupport;
+
+public class SimulationEngine implements Runnable {
+  // Listener notified on the engine thread after every tick
+  public interface TickListener {
+    void onTick(SimulationEngine engine);
+  }
+
+  // Fields
+  private final CarStore cars = new CarStore();
+  private final ArrayList<TrafficLight> lights = new ArrayList<>();  // In insertion order
+  private final LightIndex lightIndex = new LightIndex();           // Sorted by position
+  private final LightScheduler lightScheduler = new LightScheduler();
+  private final LaneIndex laneIndex = new LaneIndex();
+  private final ApproachQueues queues = new ApproachQueues();
+  private final Object lock = new Object();
+  private final int workers;
+  private ForkJoinPool pool;
+  private ShardTask shardRoot;        // Reused task tree for the current car count
+  private final ArrayList<ShardTask> shardTasks = new ArrayList<>();
+  private int shardLastLight;         // Last light position for the shard tasks this tick
+  private Thread shardWaiter;         // Thread parked until the shard tasks finish
+  private TickListener listener;
+  private SnapshotBuffer snapshots;  // Optional, for the GUI
+  private TrajectoryRecorder recorder;  // Optional trajectory log
+  private EventLog eventLog;            // Optional input log for replay
+  private SimulationMetrics metrics;    // Optional metrics registry
+  private final ArrayList<LoadGenerator> loadGenerators = new ArrayList<>();
+  private int[] batchYs = new int[64];  // Lane offsets for addCars
+  private int exitPosition;         // Cars at or past this x are retired, 0 = never
+  private long tickMillis = 1000;  // Wall time per tick, 0 = as fast as possible
+  private int seconds;              // Simulated time
+  private long carsPastLastLight;   // Cars that crossed the last intersection
+  private Thread runner;
+  private RunControl control;
+
+  // Final fields
+  public static final int TICKSECONDS = 1;  // Simulated seconds per tick
+  public static final int MINSHARD = 4096;  // Smallest car range worth forking
+  public static final long SHARDWAITNANOS = 1_000_000;  // Re-check interval while parked
+  public static final int MINGAP = 10;      // Meters kept behind the car ahead
+  public static final int LANES = 3;        // Lanes used by the default car rules
+
+  // Constructor
+  public SimulationEngine(int workers) {
+    this.workers = Math.max(1, workers);
+    lightScheduler.setQueues(queues);
+  }
+
+  // Population
+  public int addCar(int speed) {
+    return addCar(speed, 0);
+  }
+
+  public int addCar(int speed, int lane) {
+    synchronized (lock) {
+      return cars.add(speed, lane * LaneIndex.LANEWIDTH);
+    }
+  }
+
+  // Add count cars (speeds[k], lanes[k]) as one batch under a single lock
+  public void addCars(int[] speeds, int[] lanes, int count) {
+    synchronized (lock) {
+      if (batchYs.length < count) {
+        batchYs = new int[Math.max(count, batchYs.length * 2)];
+      }
+      for (int k = 0; k < count; k++) {
+        batchYs[k] = lanes[k] * LaneIndex.LANEWIDTH;
+      }
+      cars.addAll(speeds, batchYs, count);
+    }
+  }
+
+  // Inject the generator's arrivals at the start of every tick
+  public void addLoadGenerator(LoadGenerator generator) {
+    synchronized (lock) {
+      loadGenerators.add(generator);
+    }
+  }
+
+  public void addLight(TrafficLight light) {
+    synchronized (lock) {
+      light.id = lights.size();
+      queues.ensureLights(lights.size() + 1);
+      synchronized (lightIndex) {  // Per-entity threads read both under this lock
+        lights.add(light);
+        lightIndex.add(light);
+      }
+      lightScheduler.add(light);
+    }
+  }
+
+  // Initial configuration: 3 lights 1000m apart and 3 cars
+  public void addDefaultScenario() {
+    addLight(new TrafficLight(1000, LightColor.GREEN, "Light 1"));
+    addLight(new TrafficLight(2000, LightColor.YELLOW, "Light 2"));
+    addLight(new TrafficLight(3000, LightColor.RED, "Light 3"));
+
+    // Speeds in m/s - higher speeds for faster simulation
+    addCar(100, 0);
+    addCar(150, 1);
+    addCar(200, 2);
+  }
+
+  // Add the next car using the same speed rule as the "+ Car" button,
+  // spreading cars across the lanes in turn
+  public int addNextCar() {
+    synchronized (lock) {
+      int carNum = cars.size() + 1;
+      logEvent(EventLog.Type.ADD_CAR);
+      return addCar(speedForCar(carNum), (carNum - 1) % LANES);
+    }
+  }
+
+  // Each new car is slightly faster
+  public static int speedForCar(int carNum) {
+    return 125 + (carNum * 25);
+  }
+
+  // Add the next light 1000m after the last one, as the "+ Intersection" button does
+  public TrafficLight addNextLight() {
+    synchronized (lock) {
+      int lightNum = lights.size() + 1;
+      int position = lightNum * 1000;  // Each light 1000m apart
+      TrafficLight light = new TrafficLight(position, LightColor.GREEN, "Light " + lightNum);
+      logEvent(EventLog.Type.ADD_INTERSECTION);
+      addLight(light);
+      return light;
+    }
+  }
+
+  // Advance the whole simulation by one tick
+  public void tick() {
+    long tickStart = metrics != null ? System.nanoTime() : 0;
+    int transitions;
+    synchronized (lock) {
+      // Arrivals for this tick join as one batch before anything moves
+      for (int g = 0; g < loadGenerators.size(); g++) {
+        loadGenerators.get(g).inject(this, seconds + TICKSECONDS);
+      }
+
+      // Cars read the lights and their leaders as they were at the start of the tick
+      lightIndex.captureView();
+      if (workers == 1 || cars.size() < 2 * LaneIndex.MINCHUNK) {
+        laneIndex.refresh(cars);
+      } else {
+        laneIndex.refresh(cars, pool(), workers);  // Lanes sorted in chunks on the same pool
+      }
+      queues.ensureCars(cars.size());
+      int lastLight = lastLightPosition();
+      if (workers == 1 || cars.size() < 2 * MINSHARD) {
+        carsPastLastLight += advanceCars(0, cars.size(), lastLight);
+      } else {
+        carsPastLastLight += advanceCarsSharded(lastLight);
+      }
+
+      if (exitPosition > 0) {
+        retireCarsPast(exitPosition);
+      }
+
+      // Then lights move on by one second, firing only the ones that are due
+      transitions = lightScheduler.advance();
+
+      seconds += TICKSECONDS;
+
+      if (snapshots != null) {
+        snapshots.publish(seconds, cars, lights);
+      }
+      if (recorder != null) {
+        recorder.record(seconds, cars, lights);
+      }
+      if (metrics != null && metrics.isSampleRequested()) {
+        metrics.sampleApproaches(cars, lightIndex);
+      }
+    }
+
+    if (metrics != null) {
+      metrics.recordTick(System.nanoTime() - tickStart, TICKSECONDS, transitions);
+    }
+    if (listener != null) {
+      listener.onTick(this);
+    }
+  }
+
+  // Restart a light the given number of seconds into its cycle, as of now
+  public void retimeLight(TrafficLight light, int offset) {
+    synchronized (lock) {
+      lightScheduler.remove(light);
+      light.setOffset(offset);
+      lightScheduler.add(light);
+    }
+  }
+
+  // Publish the current state without advancing (e.g. after a reset or an add)
+  public void publishSnapshot() {
+    synchronized (lock) {
+      if (snapshots != null) {
+        snapshots.publish(seconds, cars, lights);
+      }
+    }
+  }
+
+  // Run the given number of ticks back to back
+  public void runTicks(long ticks) {
+    for (long i = 0; i < ticks; i++) {
+      tick();
+    }
+  }
+
+  // Drive each car up to its own speed, but stop short of the first red light in reach
+  // and keep MINGAP behind the car ahead. Yellow and green lights can be passed.
+  // Returns how many cars crossed the last light this tick.
+  private int advanceCars(int from, int to, int lastLight) {
+    int lightCount = lightIndex.size();
+    int passed = 0;
+    for (int i = from; i < to; i++) {
+      if (cars.getStatus(i) == CarStore.RETIRED) {
+        continue;
+      }
+      int x = cars.getX(i);
+      int limit = x + cars.getOriginalSpeed(i);
+      int next = lightIndex.nextIndexAfter(x);
+
+      // Red lights between here and the furthest point reachable this tick
+      for (int k = next; k < lightCount; k++) {
+        int position = lightIndex.getPosition(k);
+        if (position > limit) {
+          break;
+        }
+        if (lightIndex.isRedAt(k)) {
+          limit = position - 1;  // Wait at the stop line
+          break;
+        }
+      }
+
+      // Car ahead in the same lane
+      int leaderX = laneIndex.getLeaderX(i);
+      if (leaderX != LaneIndex.NOLEADER) {
+        limit = Math.min(limit, leaderX - MINGAP);
+      }
+
+      if (limit <= x) {
+        cars.stop(i);
+        boolean queued = next < lightCount && lightIndex.getPosition(next) - x <= ApproachQueues.APPROACHZONE;
+        queues.update(i, queued ? lightIndex.get(next).id : ApproachQueues.NONE);
+      } else {
+        queues.update(i, ApproachQueues.NONE);
+        cars.moveTo(i, limit);
+        if (x < lastLight && limit >= lastLight) {
+          passed++;
+        }
+      }
+    }
+    return passed;
+  }
+
+  // Retire every car that reached the exit (walking down, so trimming the end is cheap)
+  private void retireCarsPast(int exit) {
+    for (int i = cars.size() - 1; i >= 0; i--) {
+      if (cars.getX(i) >= exit && cars.getStatus(i) != CarStore.RETIRED) {
+        queues.forget(i);
+        cars.retire(i);
+      }
+    }
+  }
+
+  // The worker pool, started on first use
+  private ForkJoinPool pool() {
+    if (pool == null) {
+      pool = new ForkJoinPool(workers);
+    }
+    return pool;
+  }
+
+  // Position of the furthest light (no car can pass it if there are no lights)
+  private int lastLightPosition() {
+    int count = lightIndex.size();
+    return count > 0 ? lightIndex.getPosition(count - 1) : Integer.MAX_VALUE;
+  }
+
+  // Split the cars into contiguous shards on the fork-join pool. The task tree is
+  // built once per car count and reused, so a steady-state tick allocates nothing.
+  private int advanceCarsSharded(int lastLight) {
+    int count = cars.size();
+    if (shardRoot == null || shardRoot.to != count) {
+      int shardSize = Math.max(MINSHARD, count / (workers * 4));
+      shardTasks.clear();
+      shardRoot = new ShardTask(null, 0, count, shardSize);
+    }
+    for (int k = 0; k < shardTasks.size(); k++) {
+      shardTasks.get(k).reinitialize();
+    }
+    shardLastLight = lastLight;
+
+    // Park until the root completes instead of pool.invoke(), whose external wait
+    // allocates a waiter node each time the calling thread blocks
+    shardWaiter = Thread.currentThread();
+    pool().execute(shardRoot);
+    while (!shardRoot.isDone()) {
+      LockSupport.parkNanos(this, SHARDWAITNANOS);
+    }
+    shardRoot.join();  // Already done: rethrows a failure without waiting
+    return shardRoot.passed;
+  }
+
+  // Fork-join task over a contiguous range of cars; builds its subtree up front.
+  // Completion propagates up through the pending counts, so no worker ever blocks
+  // in a join (which would allocate a wait node). Never serialized.
+  @SuppressWarnings("serial")
+  private final class ShardTask extends CountedCompleter<Void> {
+    private final int from;
+    private final int to;
+    private final ShardTask left;
+    private final ShardTask right;
+    private int passed;
+
+    ShardTask(ShardTask parent, int from, int to, int shardSize) {
+      super(parent);
+      this.from = from;
+      this.to = to;
+      shardTasks.add(this);
+      if (to - from <= shardSize) {
+        left = null;
+        right = null;
+      } else {
+        int mid = (from + to) >>> 1;
+        left = new ShardTask(this, from, mid, shardSize);
+        right = new ShardTask(this, mid, to, shardSize);
+      }
+    }
+
+    public void compute() {
+      if (left == null) {
+        passed = advanceCars(from, to, shardLastLight);
+      } else {
+        setPendingCount(1);
+        left.fork();
+        right.compute();
+        return;  // The last child to finish completes this task
+      }
+      tryComplete();
+    }
+
+    public void onCompletion(CountedCompleter<?> caller) {
+      if (left != null) {
+        passed = left.passed + right.passed;
+      }
+      if (this == shardRoot) {
+        LockSupport.unpark(shardWaiter);
+      }
+    }
+  }
+
+  // Thread entry point
+  public void run() {
+    RunControl control = this.control;
+    control.setOwner();  // Woken on pause/resume/stop without registering on every sleep
+    long startNanos = System.nanoTime();
+    long ticks = 0;
+    while (control.awaitRunning()) {
+      tick();
+      ticks++;
+
+      // Sleep until the next tick is due (paused time shifts the schedule)
+      if (tickMillis > 0) {
+        long due = startNanos + ticks * tickMillis * 1_000_000L + control.getPausedNanos();
+        long wait = due - System.nanoTime();
+        if (wait > 0 && !control.sleep(wait)) {
+          return;
+        }
+      }
+    }
+  }
+
+  // Control methods
+  public void start() {
+    if (runner != null) {
+      return;
+    }
+    control = new RunControl();
+    runner = new Thread(this, "simulation-engine");
+    runner.start();
+  }
+
+  public void pause() {
+    if (control != null) {
+      synchronized (lock) {
+        control.pause();
+        logEvent(EventLog.Type.PAUSE);
+      }
+    }
+  }
+
+  public void resume() {
+    if (control != null) {
+      synchronized (lock) {
+        logEvent(EventLog.Type.RESUME);
+        control.resume();
+      }
+    }
+  }
+
+  public void stop() {
+    if (runner != null) {
+      control.stop();  // Wakes the engine thread immediately
+      try {
+        runner.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      runner = null;
+    }
+  }
+
+  // Stop the worker pool for good
+  public void shutdown() {
+    stop();
+    if (pool != null) {
+      pool.shutdownNow();
+      pool = null;
+    }
+  }
+
+  // Write the full state to a checkpoint file between ticks
+  public void saveCheckpoint(Path file) throws IOException {
+    synchronized (lock) {
+      Checkpoint.save(this, file);
+    }
+  }
+
+  // Set the clock and crossing counter, e.g. when restoring a checkpoint
+  public void setClock(int seconds, long carsPastLastLight) {
+    synchronized (lock) {
+      this.seconds = seconds;
+      this.carsPastLastLight = carsPastLastLight;
+    }
+  }
+
+  // Reset cars and clock to the initial state
+  public void reset() {
+    synchronized (lock) {
+      if (eventLog != null) {
+        eventLog.record(seconds / TICKSECONDS, EventLog.Type.RESET, stateHash());
+      }
+      cars.resetAll();
+      seconds = 0;
+      carsPastLastLight = 0;
+    }
+  }
+
+  // Record an input at the current tick (caller holds the lock)
+  private void logEvent(EventLog.Type type) {
+    if (eventLog != null) {
+      eventLog.record(seconds / TICKSECONDS, type);
+    }
+  }
+
+  // Setters
+  public void setEventLog(EventLog eventLog) {
+    this.eventLog = eventLog;
+  }
+
+  public void setMetrics(SimulationMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  public void setTickListener(TickListener listener) {
+    this.listener = listener;
+  }
+
+  public void setSnapshotBuffer(SnapshotBuffer snapshots) {
+    this.snapshots = snapshots;
+  }
+
+  public void setRecorder(TrajectoryRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  // Signal timing for every light (fixed-time by default)
+  public void setSignalController(SignalController controller) {
+    synchronized (lock) {
+      lightScheduler.setController(controller);
+    }
+  }
+
+  // Retire cars once they reach x (0 = keep every car forever)
+  public void setExitPosition(int x) {
+    synchronized (lock) {
+      exitPosition = x;
+    }
+  }
+
+  public void setTickMillis(long tickMillis) {
+    this.tickMillis = tickMillis;
+  }
+
+  // Getters
+  public boolean isRunning() {
+    return runner != null;
+  }
+
+  public int getSeconds() {
+    return seconds;
+  }
+
+  public int getExitPosition() {
+    return exitPosition;
+  }
+
+  // Checksum of all car and light state, for comparing runs
+  public long stateHash() {
+    synchronized (lock) {
+      long h = seconds;
+      for (int i = 0; i < cars.size(); i++) {
+        h = 31 * h + cars.getX(i);
+        h = 31 * h + cars.getY(i);
+        h = 31 * h + cars.getSpeed(i);
+        h = 31 * h + cars.getStatus(i);
+      }
+      for (TrafficLight light : lights) {
+        h = 31 * h + light.getColor().ordinal();
+      }
+      return h;
+    }
+  }
+
+  public long getCarsPastLastLight() {
+    return carsPastLastLight;
+  }
+
+  public CarStore getCars() {
+    return cars;
+  }
+
+  public List<TrafficLight> getLights() {
+    return lights;
+  }
+
+  public LightIndex getLightIndex() {
+    return lightIndex;
+  }
+
+  public ApproachQueues getQueues() {
+    return queues;
+  }
+
+  public LightScheduler getLightScheduler() {
+    return lightScheduler;
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * File: SimulationMetrics.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Metrics registry for the simulation loop, published over JMX and as a
+ *          periodic log line.
+ *          The engine records each tick's duration, simulated seconds and light
+ *          transitions into striped counters (LongAdder), and the GUI records how long
+ *          a snapshot took to reach the screen; none of that locks or allocates.
+ *          Cars moving, stopped and waiting per light are not counted every tick: a
+ *          reader asks for a sample and the engine fills one in at the end of its next
+ *          tick, so the cost is one scan of the cars per read instead of per tick.
+ */
+
+package trafficsim;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class SimulationMetrics implements SimulationMetricsMXBean {
+  // Fields (recorded on the hot path)
+  private final LatencyHistogram tickNanos = new LatencyHistogram();
+  private final LatencyHistogram publishLagNanos = new LatencyHistogram();
+  private final LongAdder ticks = new LongAdder();
+  private final LongAdder simulatedSeconds = new LongAdder();
+  private final LongAdder lightTransitions = new LongAdder();
+  private volatile long firstTickNanos;  // 0 until the first tick is recorded
+
+  // Approach sample, filled in by the engine thread when requested
+  private final Object sampleLock = new Object();
+  private volatile boolean sampleRequested = true;
+  private long samples;                  // Samples taken so far
+  private int sampleLights;              // Lights in the last sample
+  private String[] names = {PASTLASTLIGHT};
+  private int[] moving = new int[1];
+  private int[] stopped = new int[1];
+  private int[] waiting = new int[1];
+
+  // Periodic log line
+  private ScheduledExecutorService logger;
+  private final long[] lastTickCounts = new long[LatencyHistogram.BUCKETS];
+  private final long[] lastLagCounts = new long[LatencyHistogram.BUCKETS];
+  private long lastLogNanos;
+  private long lastLogSeconds;
+
+  // Final fields
+  public static final String OBJECTNAME = "trafficsim:type=SimulationMetrics";
+  public static final String PASTLASTLIGHT = "Past last light";
+  public static final long SAMPLEWAITMILLIS = 2000;  // Longest a log line waits for a fresh sample
+
+  // Engine side: one finished tick
+  public void recordTick(long nanos, int seconds, int transitions) {
+    if (firstTickNanos == 0) {
+      firstTickNanos = System.nanoTime() - nanos;
+    }
+    tickNanos.record(nanos);
+    ticks.increment();
+    simulatedSeconds.add(seconds);
+    if (transitions > 0) {
+      lightTransitions.add(transitions);
+    }
+  }
+
+  // GUI side: time from a snapshot being published to it being shown
+  public void recordPublishLag(long nanos) {
+    publishLagNanos.record(nanos);
+  }
+
+  // Whether a reader is waiting for a new approach sample
+  public boolean isSampleRequested() {
+    return sampleRequested;
+  }
+
+  // Engine side, between ticks: count cars by status on the approach to each light
+  public void sampleApproaches(CarStore cars, LightIndex lights) {
+    synchronized (sampleLock) {
+      int lightCount = lights.size();
+      int slots = lightCount + 1;  // Last slot: past the last light
+      if (moving.length < slots) {
+        int capacity = Math.max(slots, moving.length * 2);
+        names = Arrays.copyOf(names, capacity);
+        moving = new int[capacity];
+        stopped = new int[capacity];
+        waiting = new int[capacity];
+      }
+      Arrays.fill(moving, 0, slots, 0);
+      Arrays.fill(stopped, 0, slots, 0);
+      Arrays.fill(waiting, 0, slots, 0);
+      for (int k = 0; k < lightCount; k++) {
+        names[k] = lights.get(k).getName();
+      }
+      names[lightCount] = PASTLASTLIGHT;
+
+      for (int i = 0; i < cars.size(); i++) {
+        int k = lights.nextIndexAfter(cars.getX(i));
+        switch (cars.getStatus(i)) {
+          case CarStore.MOVING: moving[k]++; break;
+          case CarStore.STOPPED: stopped[k]++; break;
+          case CarStore.WAITING: waiting[k]++; break;
+          default: break;
+        }
+      }
+      sampleLights = lightCount;
+      samples++;
+      sampleRequested = false;
+      sampleLock.notifyAll();
+    }
+  }
+
+  // Register with the platform MBean server under OBJECTNAME
+  public void register() throws JMException {
+    ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECTNAME));
+  }
+
+  // Print a log line every periodSeconds of wall time on a daemon thread
+  public synchronized void startLogging(long periodSeconds) {
+    if (logger != null) {
+      return;
+    }
+    lastLogNanos = System.nanoTime();
+    lastLogSeconds = simulatedSeconds.sum();
+    logger = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "metrics-log");
+      t.setDaemon(true);
+      return t;
+    });
+    logger.scheduleAtFixedRate(() -> {
+      awaitSample();
+      System.out.println(logLine());
+    }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+  }
+
+  public synchronized void stopLogging() {
+    if (logger != null) {
+      logger.shutdownNow();
+      logger = null;
+    }
+  }
+
+  // One line covering the interval since the previous line, using the last approach sample
+  public synchronized String logLine() {
+    long now = System.nanoTime();
+    long seconds = simulatedSeconds.sum();
+    double wall = (now - lastLogNanos) / 1e9;
+    double ratio = wall > 0 ? (seconds - lastLogSeconds) / wall : 0;
+    lastLogNanos = now;
+    lastLogSeconds = seconds;
+
+    long[] tickCounts = intervalCounts(tickNanos, lastTickCounts);
+    long[] lagCounts = intervalCounts(publishLagNanos, lastLagCounts);
+
+    int busiest = -1;
+    int movingTotal;
+    int stoppedTotal;
+    int waitingTotal;
+    String busiestName;
+    synchronized (sampleLock) {
+      movingTotal = sum(moving, sampleLights + 1);
+      stoppedTotal = sum(stopped, sampleLights + 1);
+      waitingTotal = sum(waiting, sampleLights + 1);
+      for (int k = 0; k < sampleLights; k++) {
+        if (stopped[k] > 0 && (busiest < 0 || stopped[k] > stopped[busiest])) {
+          busiest = k;
+        }
+      }
+      busiestName = busiest < 0 ? "none" : names[busiest] + " (" + stopped[busiest] + " stopped)";
+    }
+
+    String line = String.format("[metrics] t=%d s ticks=%d tick p50=%.3f ms p99=%.3f ms sim/wall=%.1f"
+        + " cars moving=%d stopped=%d waiting=%d longest queue=%s transitions=%d",
+        seconds, ticks.sum(), millis(LatencyHistogram.percentile(tickCounts, 0.50)),
+        millis(LatencyHistogram.percentile(tickCounts, 0.99)), ratio, movingTotal, stoppedTotal,
+        waitingTotal, busiestName, lightTransitions.sum());
+    if (sum(lagCounts) > 0) {  // Only when a GUI is showing the snapshots
+      line += String.format(" publish lag p50=%.1f ms p99=%.1f ms",
+          millis(LatencyHistogram.percentile(lagCounts, 0.50)),
+          millis(LatencyHistogram.percentile(lagCounts, 0.99)));
+    }
+    return line;
+  }
+
+  // Ask the engine for a fresh approach sample and wait a little for it
+  private void awaitSample() {
+    synchronized (sampleLock) {
+      long before = samples;
+      sampleRequested = true;
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SAMPLEWAITMILLIS);
+      long wait;
+      while (samples == before && (wait = deadline - System.nanoTime()) > 0) {
+        try {
+          TimeUnit.NANOSECONDS.timedWait(sampleLock, wait);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  // Bucket counts recorded since the previous call; last is updated to the current counts
+  private static long[] intervalCounts(LatencyHistogram histogram, long[] last) {
+    long[] now = new long[LatencyHistogram.BUCKETS];
+    histogram.copyCounts(now);
+    long[] interval = new long[LatencyHistogram.BUCKETS];
+    for (int i = 0; i < interval.length; i++) {
+      interval[i] = now[i] - last[i];
+    }
+    System.arraycopy(now, 0, last, 0, now.length);
+    return interval;
+  }
+
+  private static int sum(int[] values, int count) {
+    int total = 0;
+    for (int i = 0; i < count; i++) {
+      total += values[i];
+    }
+    return total;
+  }
+
+  private static long sum(long[] values) {
+    long total = 0;
+    for (long v : values) {
+      total += v;
+    }
+    return total;
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+
+  // Per-light copies of the last sample; reading one also requests the next sample
+  private int[] sampleCopy(int[] column) {
+    sampleRequested = true;
+    synchronized (sampleLock) {
+      return Arrays.copyOf(column, sampleLights + 1);
+    }
+  }
+
+  // MXBean attributes
+  public long getTicks() {
+    return ticks.sum();
+  }
+
+  public long getSimulatedSeconds() {
+    return simulatedSeconds.sum();
+  }
+
+  public double getTickP50Millis() {
+    return millis(tickNanos.percentile(0.50));
+  }
+
+  public double getTickP99Millis() {
+    return millis(tickNanos.percentile(0.99));
+  }
+
+  // Simulated seconds per wall second since the first tick
+  public double getSimulatedToWallRatio() {
+    long first = firstTickNanos;
+    if (first == 0) {
+      return 0;
+    }
+    double wall = (System.nanoTime() - first) / 1e9;
+    return wall > 0 ? simulatedSeconds.sum() / wall : 0;
+  }
+
+  public long getLightTransitions() {
+    return lightTransitions.sum();
+  }
+
+  public int getCarsMoving() {
+    int[] column = sampleCopy(moving);
+    return sum(column, column.length);
+  }
+
+  public int getCarsStopped() {
+    int[] column = sampleCopy(stopped);
+    return sum(column, column.length);
+  }
+
+  public int getCarsWaiting() {
+    int[] column = sampleCopy(waiting);
+    return sum(column, column.length);
+  }
+
+  public String[] getLightNames() {
+    sampleRequested = true;
+    synchronized (sampleLock) {
+      return Arrays.copyOf(names, sampleLights + 1);
+    }
+  }
+
+  public int[] getMovingByLight() {
+    return sampleCopy(moving);
+  }
+
+  public int[] getStoppedByLight() {
+    return sampleCopy(stopped);
+  }
+
+  public int[] getWaitingByLight() {
+    return sampleCopy(waiting);
+  }
+
+  public double getPublishLagP50Millis() {
+    return millis(publishLagNanos.percentile(0.50));
+  }
+
+  public double getPublishLagP99Millis() {
+    return millis(publishLagNanos.percentile(0.99));
+  }
+}
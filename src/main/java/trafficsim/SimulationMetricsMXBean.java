@@ -0,0 +1,35 @@
+/*
+ * File: SimulationMetricsMXBean.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: JMX view of the simulation metrics (trafficsim:type=SimulationMetrics).
+ *          Durations are in milliseconds. Per-light arrays are in position order and
+ *          end with one extra entry for the cars past the last light.
+ */
+
+package trafficsim;
+
+public interface SimulationMetricsMXBean {
+  // Tick loop
+  long getTicks();
+  long getSimulatedSeconds();
+  double getTickP50Millis();
+  double getTickP99Millis();
+  double getSimulatedToWallRatio();
+
+  // Lights
+  long getLightTransitions();
+
+  // Cars by status, in total and per light approach
+  int getCarsMoving();
+  int getCarsStopped();
+  int getCarsWaiting();
+  String[] getLightNames();
+  int[] getMovingByLight();
+  int[] getStoppedByLight();
+  int[] getWaitingByLight();
+
+  // GUI
+  double getPublishLagP50Millis();
+  double getPublishLagP99Millis();
+}
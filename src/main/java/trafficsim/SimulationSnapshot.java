@@ -0,0 +1,68 @@
+/*
+ * File: SimulationSnapshot.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Copy of the simulation state at the end of one tick.
+ *          Holds the clock, car columns and light colors in reusable primitive arrays
+ *          so the GUI can render without touching live simulation state.
+ */
+
+package trafficsim;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SimulationSnapshot {
+  // Fields
+  long sequence;  // Publish order, 0 = never published
+  long publishNanos;  // System.nanoTime() when published
+  int seconds;
+  int carCount;
+  int[] x = new int[0];
+  int[] y = new int[0];
+  int[] speed = new int[0];
+  byte[] status = new byte[0];
+  int lightCount;
+  int[] lightPositions = new int[0];  // In insertion order, matching the GUI indicators
+  LightColor[] lightColors = new LightColor[0];
+
+  // Copy the current state into this snapshot, growing arrays only when needed
+  void capture(int seconds, CarStore cars, List<TrafficLight> lights) {
+    this.seconds = seconds;
+
+    carCount = cars.size();
+    if (x.length < carCount) {
+      int capacity = Math.max(carCount, x.length * 2);
+      x = new int[capacity];
+      y = new int[capacity];
+      speed = new int[capacity];
+      status = new byte[capacity];
+    }
+    cars.copyColumns(x, y, speed, status);
+
+    lightCount = lights.size();
+    if (lightPositions.length < lightCount) {
+      int capacity = Math.max(lightCount, lightPositions.length * 2);
+      lightPositions = Arrays.copyOf(lightPositions, capacity);
+      lightColors = Arrays.copyOf(lightColors, capacity);
+    }
+    for (int i = 0; i < lightCount; i++) {
+      TrafficLight light = lights.get(i);
+      lightPositions[i] = light.getPosition();
+      lightColors[i] = light.getColor();
+    }
+  }
+
+  // Getters
+  public long getSequence() { return sequence; }
+  public long getPublishNanos() { return publishNanos; }
+  public int getSeconds() { return seconds; }
+  public int getCarCount() { return carCount; }
+  public int getX(int i) { return x[i]; }
+  public int getY(int i) { return y[i]; }
+  public int getSpeed(int i) { return speed[i]; }
+  public byte getStatus(int i) { return status[i]; }
+  public int getLightCount() { return lightCount; }
+  public int getLightPosition(int i) { return lightPositions[i]; }
+  public LightColor getLightColor(int i) { return lightColors[i]; }
+}
@@ -0,0 +1,40 @@
+/*
+ * File: SnapshotBuffer.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Lock-free hand-off of simulation snapshots from the simulation to the GUI.
+ *          The writer fills its back buffer and swaps it into a shared slot; the reader
+ *          swaps its front buffer out of the slot only when something newer is there.
+ *          Neither side ever waits for the other, so rendering cannot slow the simulation.
+ */
+
+package trafficsim;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SnapshotBuffer {
+  // Fields
+  private final AtomicReference<SimulationSnapshot> ready =
+      new AtomicReference<>(new SimulationSnapshot());
+  private SimulationSnapshot back = new SimulationSnapshot();   // Owned by the writer
+  private SimulationSnapshot front = new SimulationSnapshot();  // Owned by the reader
+  private long sequence;
+
+  // Writer side: capture the state and make it the latest snapshot.
+  // Synchronized only among writers (e.g. a tick and a button press); readers never lock.
+  public synchronized void publish(int seconds, CarStore cars, List<TrafficLight> lights) {
+    back.capture(seconds, cars, lights);
+    back.sequence = ++sequence;
+    back.publishNanos = System.nanoTime();
+    back = ready.getAndSet(back);
+  }
+
+  // Reader side: the newest published snapshot (unchanged if nothing new arrived)
+  public SimulationSnapshot latest() {
+    if (ready.get().sequence > front.sequence) {
+      front = ready.getAndSet(front);
+    }
+    return front;
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * File: TimeThread.java
+ * Date: 12/9/2025
+ * Author: Eric Sampson
+ * Purpose: Thread class that keeps the simulation clock.
+ *          Increments time every second and publishes a snapshot for the GUI.
+ */
+
+package trafficsim;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TimeThread implements Runnable {
+  // Fields
+  private SnapshotBuffer snapshots;
+  private CarStore cars;
+  private List<TrafficLight> lights;
+  private LightIndex lightIndex;  // Lock for lights, which can grow while publishing
+  private RunControl control;
+  private int seconds;
+
+  // Constructor
+  public TimeThread(SnapshotBuffer snapshots, CarStore cars, List<TrafficLight> lights,
+      LightIndex lightIndex, RunControl control) {
+    this.snapshots = snapshots;
+    this.cars = cars;
+    this.lights = lights;
+    this.lightIndex = lightIndex;
+    this.control = control;
+    this.seconds = 0;
+  }
+
+  // Thread entry point
+  public void run() {
+    // Parks while paused, returns false once stopped
+    while (control.awaitRunning()) {
+      if (!control.sleep(TimeUnit.SECONDS.toNanos(1))) {
+        return;
+      }
+      seconds++;
+      // A car or light added meanwhile cannot grow the arrays or list mid-copy
+      synchronized (cars) {
+        synchronized (lightIndex) {
+          snapshots.publish(seconds, cars, lights);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * File: TrafficLight.java
+ * Date: 12/9/2025
+ * Author: Eric Sampson
+ * Purpose: Model class representing a traffic light in the simulation.
+ *          Stores position, color, and phase durations. Provides cycling behavior.
+ */
+
+package trafficsim;
+
+public class TrafficLight {
+  // Fields
+  private int position;
+  private volatile LightColor color;  // Written by the scheduler or TrafficLightThread, read by car threads
+  private String name;
+  private int greenDuration = GREENDURATION;
+  private int yellowDuration = YELLOWDURATION;
+  private int redDuration = REDDURATION;
+  private int initialRemaining;  // Seconds left in the starting color when first scheduled
+
+  // Timer wheel bookkeeping, owned by LightScheduler
+  long deadline;
+  long phaseStart;  // Scheduler time the current color started
+  TrafficLight nextTimer;
+
+  // Key for per-light counters (engine insertion order), set by SimulationEngine
+  int id;
+
+  // Final fields (default duration in seconds)
+  public static final int GREENDURATION = 10;
+  public static final int YELLOWDURATION = 3;
+  public static final int REDDURATION = 5;
+
+  // Constructor
+  public TrafficLight(int position, LightColor color, String name) {
+    this.position = position;
+    this.color = color;
+    this.name = name;
+    this.initialRemaining = getDuration(color);
+  }
+
+  // Behavior
+  public void cycle() {
+    color = color.next();
+  }
+
+  // Per-light phase durations in seconds
+  public void setDurations(int green, int yellow, int red) {
+    greenDuration = green;
+    yellowDuration = yellow;
+    redDuration = red;
+    initialRemaining = getDuration(color);
+  }
+
+  // Start the light the given number of seconds into its GREEN -> YELLOW -> RED cycle
+  public void setOffset(int offset) {
+    int t = Math.floorMod(offset, getCycleLength());
+    if (t < greenDuration) {
+      color = LightColor.GREEN;
+      initialRemaining = greenDuration - t;
+    } else if (t < greenDuration + yellowDuration) {
+      color = LightColor.YELLOW;
+      initialRemaining = greenDuration + yellowDuration - t;
+    } else {
+      color = LightColor.RED;
+      initialRemaining = getCycleLength() - t;
+    }
+  }
+
+  // Show the given color with the given seconds left in it
+  public void setPhase(LightColor phase, int remaining) {
+    int end = greenDuration;
+    if (phase == LightColor.YELLOW) {
+      end += yellowDuration;
+    } else if (phase == LightColor.RED) {
+      end = getCycleLength();
+    }
+    setOffset(end - remaining);
+  }
+
+  // Duration in seconds of the given color for this light
+  public int getDuration(LightColor color) {
+    switch (color) {
+      case GREEN: return greenDuration;
+      case YELLOW: return yellowDuration;
+      default: return redDuration;
+    }
+  }
+
+  public int getCycleLength() {
+    return greenDuration + yellowDuration + redDuration;
+  }
+
+  // light Checks
+  public boolean isGreen() {
+    return color == LightColor.GREEN;
+  }
+
+  public boolean isYellow() {
+    return color == LightColor.YELLOW;
+  }
+
+  public boolean isRed() {
+    return color == LightColor.RED;
+  }
+
+  // Getters
+  public LightColor getColor() {
+    return color;
+  }
+
+  public int getPosition() {
+    return position;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getInitialRemaining() {
+    return initialRemaining;
+  }
+}
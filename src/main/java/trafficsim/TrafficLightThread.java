@@ -0,0 +1,41 @@
+/*
+ * File: TrafficLightThread.java
+ * Date: 12/9/2025
+ * Author: Eric Sampson
+ * Purpose: Thread class that controls traffic light cycling.
+ *          Cycles through green, yellow, and red based on duration timers;
+ *          the GUI reads the result from snapshots.
+ */
+
+package trafficsim;
+
+import java.util.concurrent.TimeUnit;
+
+public class TrafficLightThread implements Runnable {
+  // Fields
+  private TrafficLight light;
+  private RunControl control;
+
+  // Constructor
+  public TrafficLightThread(TrafficLight light, RunControl control) {
+    this.light = light;
+    this.control = control;
+  }
+
+  // Thread entry point
+  public void run() {
+    // Parks while paused, returns false once stopped
+    while (control.awaitRunning()) {
+      // Get sleep duration based on current color
+      int sleepTime = light.getDuration(light.getColor());
+
+      // Sleep for the duration; paused time does not count
+      if (!control.sleep(TimeUnit.SECONDS.toNanos(sleepTime))) {
+        return;
+      }
+
+      // Cycle to next color
+      light.cycle();
+    }
+  }
+}
@@ -3,17 +3,20 @@
  * Date: 12/9/2025
  * Author: Eric Sampson
  * Purpose: Main GUI class for the Traffic Simulator application.
- *          Displays time, traffic lights, and car status table.
+ *          Displays time, traffic lights, a road canvas, and car status table.
  *          Provides buttons for simulation control and adding cars/intersections.
  */
 
+package trafficsim;
+
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.ArrayList;
 
 public class TrafficSimGUI extends JFrame {
+  private static final long serialVersionUID = 1L;
+
   // Buttons
   JButton startButton = new JButton("Start");
   JButton pauseButton = new JButton("Pause");
@@ -35,21 +38,38 @@ public class TrafficSimGUI extends JFrame {
   JPanel carStatusPanel = new JPanel();
 
   // Car table
-  String[] carColumns = {"Car", "X (m)", "Y (m)", "Speed (m/s)", "Status"};
-  DefaultTableModel carTableModel = new DefaultTableModel(carColumns, 0);
+  CarTableModel carTableModel = new CarTableModel();
   JTable carTable = new JTable(carTableModel);
 
-  // Container for traffic light indicators
+  // Container for traffic light indicators (the first MAXINDICATORS lights)
   JPanel lightsContainer = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 5));
 
+  // Road, lights and cars drawn from the snapshot
+  RoadCanvas roadCanvas = new RoadCanvas();
+
+  // Light indicator colors
+  private static final Color FOREST_GREEN = new Color(34, 139, 34);
+  private static final Color GOLD = new Color(255, 215, 0);
+  private static final Color FIREBRICK_RED = new Color(178, 34, 34);
+
   // Store light labels for updating
   private ArrayList<JLabel> lightLabels = new ArrayList<>();
+  private ArrayList<LightColor> shownColors = new ArrayList<>();
+
+  // Snapshot rendering
+  public static final int FRAMERATE = 60;  // Max GUI refreshes per second
+  public static final int MAXINDICATORS = 6;  // Lights with a Swing indicator; the canvas shows all
+  private SnapshotBuffer snapshots;
+  private SimulationMetrics metrics;  // Optional, records publish lag
+  private Timer renderTimer;
+  private long appliedSequence;
+  private int shownSeconds = -1;
 
   // Constructor
   public TrafficSimGUI() {
     // Main setup
     setTitle("Traffic Simulator");
-    setSize(700, 500);
+    setSize(700, 640);
     setLayout(new BorderLayout(5, 5));
     setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     setLocationRelativeTo(null);
@@ -73,11 +93,9 @@ public class TrafficSimGUI extends JFrame {
         TitledBorder.TOP
     ));
 
-    // Add 3 sample traffic lights (1000m apart per requirements)
-    lightsContainer.add(createLightIndicator("1000m", "GREEN"));
-    lightsContainer.add(createLightIndicator("2000m", "YELLOW"));
-    lightsContainer.add(createLightIndicator("3000m", "RED"));
-    trafficLightPanel.add(lightsContainer, BorderLayout.CENTER);
+    // Light indicators are added from the first simulation snapshot
+    trafficLightPanel.add(lightsContainer, BorderLayout.NORTH);
+    trafficLightPanel.add(roadCanvas, BorderLayout.CENTER);
 
     centerPanel.add(trafficLightPanel, BorderLayout.NORTH);
 
@@ -95,11 +113,6 @@ public class TrafficSimGUI extends JFrame {
     carTable.getTableHeader().setFont(new Font("SansSerif", Font.BOLD, 12));
     carStatusPanel.add(new JScrollPane(carTable), BorderLayout.CENTER);
 
-    // Add sample data to table (speeds in m/s)
-    carTableModel.addRow(new Object[]{"Car 1", 0, 0, 100, "Waiting"});
-    carTableModel.addRow(new Object[]{"Car 2", 0, 0, 150, "Waiting"});
-    carTableModel.addRow(new Object[]{"Car 3", 0, 0, 200, "Waiting"});
-
     centerPanel.add(carStatusPanel, BorderLayout.CENTER);
     add(centerPanel, BorderLayout.CENTER);
 
@@ -136,16 +149,16 @@ public class TrafficSimGUI extends JFrame {
   }
 
   // Helper method to create a traffic light indicator
-  private JPanel createLightIndicator(String position, String color) {
+  private JPanel createLightIndicator(String position, LightColor color) {
     JPanel panel = new JPanel();
     panel.setLayout(new BorderLayout());
     panel.setPreferredSize(new Dimension(80, 55));
 
     // Color text label
-    JLabel colorLabel = new JLabel(color, SwingConstants.CENTER);
+    JLabel colorLabel = new JLabel(color.name(), SwingConstants.CENTER);
     colorLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
     colorLabel.setOpaque(true);
-    colorLabel.setBackground(getColorFromString(color));
+    colorLabel.setBackground(getColorFor(color));
 
     // Save reference for later updates
     lightLabels.add(colorLabel);
@@ -161,12 +174,12 @@ public class TrafficSimGUI extends JFrame {
     return panel;
   }
 
-  // Helper to convert color string to Color object
-  private Color getColorFromString(String color) {
+  // Helper to convert a light color to a Color object
+  private Color getColorFor(LightColor color) {
     switch (color) {
-      case "GREEN": return new Color(34, 139, 34);   // Forest green
-      case "YELLOW": return new Color(255, 215, 0); // Gold
-      case "RED": return new Color(178, 34, 34);    // Firebrick red
+      case GREEN: return FOREST_GREEN;
+      case YELLOW: return GOLD;
+      case RED: return FIREBRICK_RED;
       default: return Color.GRAY;
     }
   }
@@ -180,7 +193,7 @@ public class TrafficSimGUI extends JFrame {
   public JButton getAddIntersectionButton() { return addIntersectionButton; }
 
   // Getter for table model (for updating car data)
-  public DefaultTableModel getCarTableModel() { return carTableModel; }
+  public CarTableModel getCarTableModel() { return carTableModel; }
 
   // Getter for lights container (for adding new intersections)
   public JPanel getLightsContainer() { return lightsContainer; }
@@ -191,21 +204,78 @@ public class TrafficSimGUI extends JFrame {
   }
 
   // Method to update a traffic light's color
-  public void updateTrafficLight(int index, String color) {
+  public void updateTrafficLight(int index, LightColor color) {
     if (index >= 0 && index < lightLabels.size()) {
       JLabel label = lightLabels.get(index);
-      label.setText(color);
-      label.setBackground(getColorFromString(color));
+      label.setText(color.name());
+      label.setBackground(getColorFor(color));
     }
   }
 
   // Method to add a new traffic light indicator
-  public void addTrafficLight(String position, String color) {
+  public void addTrafficLight(String position, LightColor color) {
     lightsContainer.add(createLightIndicator(position, color));
     lightsContainer.revalidate();
     lightsContainer.repaint();
   }
 
+  // Start rendering snapshots from the given buffer on the EDT
+  public void setSnapshotSource(SnapshotBuffer snapshots) {
+    this.snapshots = snapshots;
+    if (renderTimer == null) {
+      renderTimer = new Timer(1000 / FRAMERATE, e -> applySnapshot(this.snapshots.latest()));
+      renderTimer.start();
+    }
+  }
+
+  public void setMetrics(SimulationMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  // Apply a snapshot to the time label, light indicators and car table
+  private void applySnapshot(SimulationSnapshot snap) {
+    if (snap.getSequence() == appliedSequence) {
+      return;  // Nothing new since the last frame
+    }
+    appliedSequence = snap.getSequence();
+
+    // Time
+    if (snap.getSeconds() != shownSeconds) {
+      shownSeconds = snap.getSeconds();
+      int hours = shownSeconds / 3600;
+      int minutes = (shownSeconds % 3600) / 60;
+      int secs = shownSeconds % 60;
+      updateTime(String.format("%02d:%02d:%02d", hours, minutes, secs));
+    }
+
+    // Lights: add indicators for new lights, recolor only the ones that changed
+    int indicators = Math.min(snap.getLightCount(), MAXINDICATORS);
+    for (int i = 0; i < indicators; i++) {
+      LightColor color = snap.getLightColor(i);
+      if (i == lightLabels.size()) {
+        addTrafficLight(snap.getLightPosition(i) + "m", color);
+        shownColors.add(color);
+      } else if (shownColors.get(i) != color) {
+        updateTrafficLight(i, color);
+        shownColors.set(i, color);
+      }
+    }
+
+    // Road: one image, culled to the visible stretch
+    roadCanvas.render(snap);
+
+    // Cars: the model reads the snapshot directly; repaint only the visible rows
+    Rectangle view = carTable.getVisibleRect();
+    int rowHeight = carTable.getRowHeight();
+    int firstVisible = view.y / rowHeight;
+    int lastVisible = (view.y + view.height - 1) / rowHeight;
+    carTableModel.update(snap, firstVisible, lastVisible);
+
+    if (metrics != null) {
+      metrics.recordPublishLag(System.nanoTime() - snap.getPublishNanos());
+    }
+  }
+
   public static void main(String[] args) {
     // Create the frame on the event dispatching thread
     SwingUtilities.invokeLater(new Runnable() {
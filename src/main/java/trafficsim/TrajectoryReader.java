@@ -0,0 +1,222 @@
+/*
+ * File: TrajectoryReader.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Random-access reader for files written by TrajectoryRecorder.
+ *          Loads the block index from the footer, finds the block holding a simulated
+ *          time with a binary search, and decodes only that block, so seeking costs
+ *          one block no matter how long the run was.
+ *
+ *          Usage: java trafficsim.TrajectoryReader FILE [SECONDS]
+ */
+
+package trafficsim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+public class TrajectoryReader implements AutoCloseable {
+  // Fields
+  private final FileChannel channel;
+  private final int blockCount;
+  private final int[] firstSeconds;
+  private final int[] lastSeconds;
+  private final long[] offsets;
+  private final Inflater inflater = new Inflater();
+  private byte[] block = new byte[0];
+  private int pos;  // Decode position in block
+
+  // Constructor: open the file and load its index
+  public TrajectoryReader(Path file) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.READ);
+    ByteBuffer header = read(0, 8);
+    if (header.getInt() != TrajectoryRecorder.MAGIC) {
+      throw new IOException(file + " is not a trajectory log");
+    }
+    int version = header.getInt();
+    if (version != TrajectoryRecorder.VERSION) {
+      throw new IOException("Unsupported trajectory version " + version + " in " + file);
+    }
+
+    ByteBuffer trailer = read(channel.size() - 12, 12);
+    long indexOffset = trailer.getLong();
+    if (trailer.getInt() != TrajectoryRecorder.INDEXMAGIC) {
+      throw new IOException(file + " has no index (recorder not closed?)");
+    }
+    ByteBuffer index = read(indexOffset, (int) (channel.size() - 12 - indexOffset));
+    blockCount = index.getInt();
+    firstSeconds = new int[blockCount];
+    lastSeconds = new int[blockCount];
+    offsets = new long[blockCount];
+    for (int b = 0; b < blockCount; b++) {
+      firstSeconds[b] = index.getInt();
+      lastSeconds[b] = index.getInt();
+      offsets[b] = index.getLong();
+    }
+  }
+
+  // The last recorded frame at or before the given simulated time, or null if the
+  // log starts later. Reuses and returns target.
+  public SimulationSnapshot seek(int seconds, SimulationSnapshot target) throws IOException {
+    int low = 0;
+    int high = blockCount;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (firstSeconds[mid] <= seconds) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    int b = low - 1;
+    if (b < 0) {
+      return null;
+    }
+    loadBlock(b);
+
+    // Decode frames until the next one is past the requested time
+    boolean first = true;
+    while (pos < block.length) {
+      int mark = pos;
+      int frameSeconds = getVarint();
+      if (!first && frameSeconds > seconds) {
+        pos = mark;
+        break;
+      }
+      decodeFrame(frameSeconds, target, first);
+      first = false;
+    }
+    return target;
+  }
+
+  private void loadBlock(int b) throws IOException {
+    ByteBuffer header = read(offsets[b], 8);
+    int compressedLength = header.getInt();
+    int rawLength = header.getInt();
+    ByteBuffer compressed = read(offsets[b] + 8, compressedLength);
+    block = new byte[rawLength];
+    inflater.reset();
+    inflater.setInput(compressed.array(), 0, compressedLength);
+    try {
+      int length = 0;
+      while (length < rawLength && !inflater.finished()) {
+        length += inflater.inflate(block, length, rawLength - length);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt trajectory block " + b, e);
+    }
+    pos = 0;
+  }
+
+  // Apply one frame's deltas to target (the first frame of a block is against zero)
+  private void decodeFrame(int seconds, SimulationSnapshot target, boolean first) {
+    int baseCars = first ? 0 : target.carCount;
+    int baseLights = first ? 0 : target.lightCount;
+    int carCount = getVarint();
+    int lightCount = getVarint();
+    if (target.x.length < carCount) {
+      target.x = Arrays.copyOf(target.x, carCount);
+      target.y = Arrays.copyOf(target.y, carCount);
+      target.speed = Arrays.copyOf(target.speed, carCount);
+      target.status = Arrays.copyOf(target.status, carCount);
+    }
+    if (target.lightPositions.length < lightCount) {
+      target.lightPositions = Arrays.copyOf(target.lightPositions, lightCount);
+      target.lightColors = Arrays.copyOf(target.lightColors, lightCount);
+    }
+    target.seconds = seconds;
+    target.carCount = carCount;
+    target.lightCount = lightCount;
+    getDeltas(target.x, carCount, baseCars);
+    getDeltas(target.y, carCount, baseCars);
+    getDeltas(target.speed, carCount, baseCars);
+    System.arraycopy(block, pos, target.status, 0, carCount);
+    pos += carCount;
+    getDeltas(target.lightPositions, lightCount, baseLights);
+    LightColor[] colors = LightColor.values();
+    for (int i = 0; i < lightCount; i++) {
+      target.lightColors[i] = colors[block[pos++]];
+    }
+  }
+
+  private void getDeltas(int[] values, int count, int baseCount) {
+    for (int i = 0; i < count; i++) {
+      int zigzag = getVarint();
+      int delta = (zigzag >>> 1) ^ -(zigzag & 1);
+      values[i] = i < baseCount ? values[i] + delta : delta;
+    }
+  }
+
+  private int getVarint() {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = block[pos++];
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }
+
+  private ByteBuffer read(long offset, int length) throws IOException {
+    ByteBuffer buf = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    while (buf.hasRemaining()) {
+      if (channel.read(buf, offset + buf.position()) < 0) {
+        throw new IOException("Truncated trajectory log");
+      }
+    }
+    buf.flip();
+    return buf;
+  }
+
+  public void close() throws IOException {
+    inflater.end();
+    channel.close();
+  }
+
+  // Getters
+  public int getBlockCount() {
+    return blockCount;
+  }
+
+  public int getFirstSeconds() {
+    return blockCount > 0 ? firstSeconds[0] : 0;
+  }
+
+  public int getLastSeconds() {
+    return blockCount > 0 ? lastSeconds[blockCount - 1] : 0;
+  }
+
+  // Print the log's time range, or the frame at the given time
+  public static void main(String[] args) throws IOException {
+    try (TrajectoryReader reader = new TrajectoryReader(Paths.get(args[0]))) {
+      System.out.printf("%s: %d blocks, t=%d..%d s%n", args[0], reader.getBlockCount(),
+          reader.getFirstSeconds(), reader.getLastSeconds());
+      if (args.length > 1) {
+        SimulationSnapshot frame = reader.seek(Integer.parseInt(args[1]), new SimulationSnapshot());
+        if (frame == null) {
+          System.out.println("No frame at or before t=" + args[1]);
+          return;
+        }
+        System.out.printf("Frame t=%d s: %d cars, %d lights%n", frame.getSeconds(),
+            frame.getCarCount(), frame.getLightCount());
+        for (int i = 0; i < Math.min(frame.getCarCount(), 10); i++) {
+          System.out.printf("  Car %-6d x=%d y=%d speed=%d status=%s%n", i + 1, frame.getX(i),
+              frame.getY(i), frame.getSpeed(i), CarStore.statusName(frame.getStatus(i)));
+        }
+        for (int i = 0; i < frame.getLightCount(); i++) {
+          System.out.printf("  Light at %d: %s%n", frame.getLightPosition(i), frame.getLightColor(i));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,280 @@
+/*
+ * File: TrajectoryRecorder.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Opt-in per-tick trajectory log written by a background thread.
+ *          The engine copies each tick into a pooled SimulationSnapshot and hands it
+ *          over through a bounded queue. By default the log is lossless: when the writer
+ *          falls behind, the engine waits for a pooled frame to come back. A real-time
+ *          caller can opt in to dropping instead, so the tick loop never waits for the
+ *          disk; dropped frames are counted.
+ *          Frames are grouped into blocks of BLOCKFRAMES ticks. Within a block each
+ *          column (x, y, speed, status, lights) is stored as zigzag varint deltas
+ *          against the previous frame, the first frame of a block against zero so
+ *          every block decodes on its own, and each block is Deflate-compressed.
+ *          A footer indexes the blocks by simulated time for TrajectoryReader.
+ *
+ *          File layout (little-endian):
+ *            int MAGIC, int VERSION
+ *            blocks: int compressedLength, int rawLength, compressed bytes
+ *            index:  int blockCount, per block: int firstSeconds, int lastSeconds, long offset
+ *            long indexOffset, int INDEXMAGIC
+ */
+
+package trafficsim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+public class TrajectoryRecorder implements Runnable {
+  // Fields
+  private final FileChannel channel;
+  private final BlockingQueue<SimulationSnapshot> pending;  // Captured, waiting for the writer
+  private final BlockingQueue<SimulationSnapshot> free;     // Recycled frames for the engine
+  private final Thread writer;
+  private final boolean dropWhenBehind;  // Drop frames instead of waiting for the writer
+  private volatile IOException failure;
+  private volatile long dropped;   // Written only by the engine thread
+  private long framesWritten;      // Writer thread only from here down
+  private long bytesWritten;
+  private SimulationSnapshot previous = new SimulationSnapshot();
+  private byte[] block = new byte[1 << 16];
+  private int blockSize;
+  private int blockFrames;
+  private int blockFirstSeconds;
+  private int blockLastSeconds;
+  private byte[] compressed = new byte[1 << 16];
+  private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+  private int[] indexFirst = new int[64];
+  private int[] indexLast = new int[64];
+  private long[] indexOffset = new long[64];
+  private int blockCount;
+
+  // Final fields
+  public static final int MAGIC = 0x54535452;       // "TSTR"
+  public static final int INDEXMAGIC = 0x54535458;  // "TSTX"
+  public static final int VERSION = 1;
+  public static final int BLOCKFRAMES = 60;         // Ticks per compressed block
+  public static final int QUEUEFRAMES = 8;          // Frames buffered before waiting (or dropping)
+  private static final SimulationSnapshot END = new SimulationSnapshot();
+
+  // Constructor: lossless log, the engine waits whenever the writer falls behind
+  public TrajectoryRecorder(Path file) throws IOException {
+    this(file, false);
+  }
+
+  // Constructor: create (or replace) the file and start the writer thread; with
+  // dropWhenBehind the engine never waits and skips frames the writer has no room for
+  public TrajectoryRecorder(Path file, boolean dropWhenBehind) throws IOException {
+    this.dropWhenBehind = dropWhenBehind;
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE);
+    ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(MAGIC).putInt(VERSION).flip();
+    writeFully(header);
+
+    pending = new ArrayBlockingQueue<>(QUEUEFRAMES + 1);
+    free = new ArrayBlockingQueue<>(QUEUEFRAMES);
+    for (int i = 0; i < QUEUEFRAMES; i++) {
+      free.add(new SimulationSnapshot());
+    }
+    writer = new Thread(this, "trajectory-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  // Engine side: copy this tick's state for the writer, waiting for a free frame
+  // (or dropping the tick when dropWhenBehind is set)
+  public void record(int seconds, CarStore cars, List<TrafficLight> lights) {
+    SimulationSnapshot frame;
+    if (dropWhenBehind) {
+      frame = free.poll();
+    } else {
+      try {
+        frame = free.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        frame = null;
+      }
+    }
+    if (frame == null) {
+      dropped++;
+      return;
+    }
+    frame.capture(seconds, cars, lights);
+    pending.add(frame);
+  }
+
+  // Flush everything queued, write the index and close the file
+  public void close() throws IOException {
+    try {
+      pending.put(END);
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (failure != null) {
+      channel.close();
+      throw failure;
+    }
+    flushBlock();
+    writeIndex();
+    channel.close();
+    deflater.end();
+  }
+
+  // Writer thread
+  public void run() {
+    try {
+      while (true) {
+        SimulationSnapshot frame = pending.take();
+        if (frame == END) {
+          return;
+        }
+        if (failure == null) {
+          try {
+            appendFrame(frame);
+          } catch (IOException e) {
+            failure = e;  // Keep recycling frames so a waiting engine is never stuck
+          }
+        }
+        // Keep the written frame as the delta base and recycle the old base
+        SimulationSnapshot base = previous;
+        previous = frame;
+        free.add(base);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // Encode one frame into the current block, closing the block when it is full
+  private void appendFrame(SimulationSnapshot frame) throws IOException {
+    if (blockFrames == 0) {
+      blockFirstSeconds = frame.seconds;
+    }
+    SimulationSnapshot base = blockFrames == 0 ? null : previous;
+    int baseCars = base == null ? 0 : base.carCount;
+    int baseLights = base == null ? 0 : base.lightCount;
+
+    putVarint(frame.seconds);
+    putVarint(frame.carCount);
+    putVarint(frame.lightCount);
+    putDeltas(frame.x, base == null ? null : base.x, frame.carCount, baseCars);
+    putDeltas(frame.y, base == null ? null : base.y, frame.carCount, baseCars);
+    putDeltas(frame.speed, base == null ? null : base.speed, frame.carCount, baseCars);
+    ensureBlock(frame.carCount);
+    for (int i = 0; i < frame.carCount; i++) {
+      block[blockSize++] = frame.status[i];
+    }
+    putDeltas(frame.lightPositions, base == null ? null : base.lightPositions, frame.lightCount, baseLights);
+    ensureBlock(frame.lightCount);
+    for (int i = 0; i < frame.lightCount; i++) {
+      block[blockSize++] = (byte) frame.lightColors[i].ordinal();
+    }
+
+    blockLastSeconds = frame.seconds;
+    framesWritten++;
+    if (++blockFrames == BLOCKFRAMES) {
+      flushBlock();
+    }
+  }
+
+  // Compress the current block and append it to the file
+  private void flushBlock() throws IOException {
+    if (blockFrames == 0) {
+      return;
+    }
+    deflater.reset();
+    deflater.setInput(block, 0, blockSize);
+    deflater.finish();
+    int length = 0;
+    while (!deflater.finished()) {
+      if (length == compressed.length) {
+        compressed = Arrays.copyOf(compressed, compressed.length * 2);
+      }
+      length += deflater.deflate(compressed, length, compressed.length - length);
+    }
+
+    if (blockCount == indexFirst.length) {
+      indexFirst = Arrays.copyOf(indexFirst, blockCount * 2);
+      indexLast = Arrays.copyOf(indexLast, blockCount * 2);
+      indexOffset = Arrays.copyOf(indexOffset, blockCount * 2);
+    }
+    indexFirst[blockCount] = blockFirstSeconds;
+    indexLast[blockCount] = blockLastSeconds;
+    indexOffset[blockCount] = channel.position();
+    blockCount++;
+
+    ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(length).putInt(blockSize).flip();
+    writeFully(header);
+    writeFully(ByteBuffer.wrap(compressed, 0, length));
+    blockSize = 0;
+    blockFrames = 0;
+  }
+
+  private void writeIndex() throws IOException {
+    long offset = channel.position();
+    ByteBuffer index = ByteBuffer.allocate(4 + 16 * blockCount + 12).order(ByteOrder.LITTLE_ENDIAN);
+    index.putInt(blockCount);
+    for (int b = 0; b < blockCount; b++) {
+      index.putInt(indexFirst[b]).putInt(indexLast[b]).putLong(indexOffset[b]);
+    }
+    index.putLong(offset).putInt(INDEXMAGIC).flip();
+    writeFully(index);
+  }
+
+  private void writeFully(ByteBuffer buf) throws IOException {
+    bytesWritten += buf.remaining();
+    while (buf.hasRemaining()) {
+      channel.write(buf);
+    }
+  }
+
+  // Zigzag varint deltas of values[0..count) against base[0..baseCount), missing base = 0
+  private void putDeltas(int[] values, int[] base, int count, int baseCount) {
+    ensureBlock(5 * count);
+    for (int i = 0; i < count; i++) {
+      int delta = i < baseCount ? values[i] - base[i] : values[i];
+      putVarint((delta << 1) ^ (delta >> 31));
+    }
+  }
+
+  private void putVarint(int value) {
+    ensureBlock(5);
+    while ((value & ~0x7F) != 0) {
+      block[blockSize++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    block[blockSize++] = (byte) value;
+  }
+
+  private void ensureBlock(int extra) {
+    if (blockSize + extra > block.length) {
+      block = Arrays.copyOf(block, Math.max(blockSize + extra, block.length * 2));
+    }
+  }
+
+  // Getters
+  public long getDropped() {
+    return dropped;
+  }
+
+  public long getFramesWritten() {
+    return framesWritten;
+  }
+
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+}
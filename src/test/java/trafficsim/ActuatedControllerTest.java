@@ -0,0 +1,46 @@
+/*
+ * File: ActuatedControllerTest.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Checks that the default actuated controller ends a green on an empty approach
+ *          before the fixed green would.
+ */
+
+package trafficsim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ActuatedControllerTest {
+  // No cars at all: every green after the starting one lasts the minimum
+  @Test
+  public void emptyApproachEndsGreenEarly() {
+    SimulationEngine engine = new SimulationEngine(1);
+    TrafficLight light = new TrafficLight(1000, LightColor.RED, "Light 1");
+    engine.addLight(light);
+    engine.setSignalController(new ActuatedController());
+
+    int green = greenLength(engine, light);
+    assertEquals(ActuatedController.MINGREEN, green);
+    assertTrue(green < TrafficLight.GREENDURATION, "Green should gap out before the fixed green");
+  }
+
+  // Tick to the start of the light's next green and return how many seconds it stays green
+  private static int greenLength(SimulationEngine engine, TrafficLight light) {
+    while (light.isGreen()) {
+      engine.tick();
+    }
+    while (!light.isGreen()) {
+      engine.tick();
+    }
+    int seconds = 0;
+    while (light.isGreen()) {
+      engine.tick();
+      seconds += SimulationEngine.TICKSECONDS;
+    }
+    engine.shutdown();
+    return seconds;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * File: AllocationTest.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Checks that steady-state ticks allocate nothing on the heap.
+ *          Warms the engine up (arrays grown, code compiled), then reads the per-thread
+ *          allocation counters of the ticking threads (caller, engine thread and fork-join
+ *          workers) before and after a run of ticks. Snapshots are published as for the
+ *          GUI, so the publish path is covered too. Both back-to-back ticks (runTicks) and
+ *          the paced engine thread (run, including its sleeps between ticks) are measured.
+ *          Every measured window must allocate nothing; the warm-up is long enough for the
+ *          JIT to settle the JDK's fork-join code as well as the tick path.
+ */
+
+package trafficsim;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class AllocationTest {
+  // Final fields
+  public static final int CARS = 2 * LaneIndex.MINCHUNK;  // Enough for 4 workers to shard and chunk lanes
+  public static final int LIGHTS = 20;
+  public static final int WARMUPTICKS = 30000;
+  public static final int TICKS = 2000;
+  public static final long RUNMILLIS = 2000;  // Measured wall time of the paced engine thread
+  public static final int WINDOWS = 3;        // Measured runs, every one of which must not allocate
+
+  private final com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  @Test
+  public void singleThreadedTicksDoNotAllocate() {
+    assertTicksDoNotAllocate(1);
+  }
+
+  @Test
+  public void shardedTicksDoNotAllocate() {
+    assertTicksDoNotAllocate(4);
+  }
+
+  // The engine thread ticking once per millisecond and sleeping in between
+  @Test
+  public void runningEngineDoesNotAllocate() throws InterruptedException {
+    SimulationEngine engine = warmEngine(1);
+    engine.setTickMillis(1);
+    engine.start();
+    Thread.sleep(RUNMILLIS / 2);  // Warm up the run loop and its sleep
+
+    long[] ids = tickingThreads();
+    long overhead = overhead(ids);
+    try {
+      for (int w = 0; w < WINDOWS; w++) {
+        int startSeconds = engine.getSeconds();
+        long before = allocated(ids);
+        Thread.sleep(RUNMILLIS);
+        long bytes = allocated(ids) - before + overhead;
+        int ticks = (engine.getSeconds() - startSeconds) / SimulationEngine.TICKSECONDS;
+        assertTrue(ticks > 0, "The engine thread should have ticked");
+        assertNoAllocation(bytes, ticks, "run() with 1 ms ticks, window " + (w + 1));
+      }
+    } finally {
+      engine.shutdown();
+    }
+  }
+
+  private void assertTicksDoNotAllocate(int workers) {
+    SimulationEngine engine = warmEngine(workers);
+    long[] ids = tickingThreads();
+    long overhead = overhead(ids);
+    try {
+      for (int w = 0; w < WINDOWS; w++) {
+        long before = allocated(ids);
+        engine.runTicks(TICKS);
+        long bytes = allocated(ids) - before + overhead;
+        assertNoAllocation(bytes, TICKS, workers + " workers, window " + (w + 1));
+      }
+    } finally {
+      engine.shutdown();
+    }
+  }
+
+  // An engine with CARS cars and LIGHTS lights after WARMUPTICKS ticks, publishing snapshots
+  private SimulationEngine warmEngine(int workers) {
+    assertTrue(threads.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported");
+    threads.setThreadAllocatedMemoryEnabled(true);
+    SimulationEngine engine = new SimulationEngine(workers);
+    engine.setSnapshotBuffer(new SnapshotBuffer());
+    engine.addDefaultScenario();
+    while (engine.getLights().size() < LIGHTS) {
+      engine.addNextLight();
+    }
+    while (engine.getCars().size() < CARS) {
+      engine.addNextCar();
+    }
+    engine.runTicks(WARMUPTICKS);
+    return engine;
+  }
+
+  // This thread, the engine thread and the fork-join workers
+  private static long[] tickingThreads() {
+    List<Thread> ticking = new ArrayList<>();
+    for (Thread t : Thread.getAllStackTraces().keySet()) {
+      if (t == Thread.currentThread() || t.getName().equals("simulation-engine")
+          || t.getName().startsWith("ForkJoinPool-")) {
+        ticking.add(t);
+      }
+    }
+    long[] ids = new long[ticking.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = ticking.get(i).getId();
+    }
+    return ids;
+  }
+
+  // Reading the counters allocates its result array on this thread; measure that once
+  private long overhead(long[] ids) {
+    return allocated(ids) - allocated(ids);
+  }
+
+  private long allocated(long[] ids) {
+    long total = 0;
+    for (long bytes : threads.getThreadAllocatedBytes(ids)) {
+      total += Math.max(0, bytes);
+    }
+    return total;
+  }
+
+  private static void assertNoAllocation(long bytes, int ticks, String what) {
+    assertTrue(bytes <= 0, String.format("%s: %d bytes allocated in %d ticks", what, bytes, ticks));
+  }
+}
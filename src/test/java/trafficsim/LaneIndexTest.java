@@ -0,0 +1,73 @@
+/*
+ * File: LaneIndexTest.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Checks that the chunked parallel lane refresh finds the same leaders and
+ *          lane tails as the serial refresh, including retired cars, cars added
+ *          between refreshes, a new lane appearing and cars out of order across chunks.
+ */
+
+package trafficsim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class LaneIndexTest {
+  // Final fields
+  public static final int CARS = 8 * LaneIndex.MINCHUNK;
+  public static final int WORKERS = 4;
+
+  @Test
+  public void parallelRefreshMatchesSerial() {
+    Random random = new Random(7);
+    CarStore cars = new CarStore();
+    for (int i = 0; i < CARS; i++) {
+      cars.add(10, random.nextInt(3) * LaneIndex.LANEWIDTH);
+      cars.moveTo(i, random.nextInt(1_000_000));  // Unsorted: lanes cross every chunk boundary
+    }
+    LaneIndex serial = new LaneIndex();
+    LaneIndex parallel = new LaneIndex();
+    ForkJoinPool pool = new ForkJoinPool(WORKERS);
+    try {
+      for (int round = 0; round < 20; round++) {
+        serial.refresh(cars);
+        parallel.refresh(cars, pool, WORKERS);
+        assertSameIndex(cars, serial, parallel, round);
+
+        // Move everyone a little (some overtake), retire a few and add a few,
+        // one of them in a lane that did not exist before
+        for (int i = 0; i < cars.size(); i++) {
+          if (cars.getStatus(i) != CarStore.RETIRED) {
+            cars.moveTo(i, cars.getX(i) + random.nextInt(30));
+          }
+        }
+        for (int n = 0; n < 100; n++) {
+          cars.retire(random.nextInt(cars.size()));
+        }
+        for (int n = 0; n < 200; n++) {
+          cars.add(10, random.nextInt(3) * LaneIndex.LANEWIDTH);
+        }
+        if (round == 10) {
+          cars.add(10, 5 * LaneIndex.LANEWIDTH);
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private static void assertSameIndex(CarStore cars, LaneIndex serial, LaneIndex parallel, int round) {
+    assertEquals(serial.getLaneCount(), parallel.getLaneCount(), "lanes in round " + round);
+    for (int lane = 0; lane < serial.getLaneCount(); lane++) {
+      assertEquals(serial.getTailX(lane), parallel.getTailX(lane), "tail of lane " + lane + " in round " + round);
+    }
+    for (int i = 0; i < cars.size(); i++) {
+      if (cars.getStatus(i) != CarStore.RETIRED) {
+        assertEquals(serial.getLeaderX(i), parallel.getLeaderX(i), "leader of car " + i + " in round " + round);
+      }
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * File: NetworkSimulationTest.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Checks that cars keep MINGAP to the car ahead on every edge and lane,
+ *          including cars that merge onto the same edge from different roads in one tick.
+ */
+
+package trafficsim;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.junit.jupiter.api.Test;
+
+public class NetworkSimulationTest {
+  // Two cars reach intersection 4 at the same time from 1 and 7 and both turn onto 4 -> 5
+  @Test
+  public void mergingCarsKeepTheirGap() {
+    RoadNetwork network = RoadNetwork.grid(3, 3, 200, 1);
+    NetworkSimulation sim = new NetworkSimulation(network);
+    sim.addCar(sim.routeThrough(1, 4, 5), 20, 0);
+    sim.addCar(sim.routeThrough(7, 4, 5), 20, 0);
+    int merged = network.findEdge(4, 5);
+
+    boolean shared = false;
+    for (int t = 0; t < 60; t++) {
+      sim.tick();
+      assertGaps(sim);
+      shared |= sim.getEdge(0) == merged && sim.getEdge(1) == merged;
+    }
+    assertTrue(shared, "Both cars should have reached the merged road");
+  }
+
+  // Crossing trips on a two-lane grid, started whenever the start of their first road is clear
+  @Test
+  public void busyGridKeepsGaps() {
+    RoadNetwork network = RoadNetwork.grid(4, 4, 200, 2);
+    NetworkSimulation sim = new NetworkSimulation(network);
+    for (int t = 0; t < 600; t++) {
+      for (int origin = 0; origin < 16; origin++) {
+        int destination = 15 - origin;
+        int lane = t % 2;
+        int first = sim.getRouteCache().route(origin, destination)[0];
+        if (isClear(sim, first, lane)) {
+          sim.addTrip(origin, destination, 10 + (t + origin) % 11, lane);
+        }
+      }
+      sim.tick();
+      assertGaps(sim);
+    }
+    assertTrue(sim.getArrivals() > 0, "Some trips should have finished");
+  }
+
+  // A steady stream of trips over a long run: arrived cars give their slots to new ones
+  @Test
+  public void arrivedCarsFreeTheirSlots() {
+    RoadNetwork network = RoadNetwork.grid(3, 3, 200, 1);
+    NetworkSimulation sim = new NetworkSimulation(network);
+    int added = 0;
+    for (int t = 0; t < 3000; t++) {
+      if (t % 5 == 0 && isClear(sim, sim.getRouteCache().route(0, 8)[0], 0)) {
+        sim.addTrip(0, 8, 20, 0);
+        added++;
+      }
+      sim.tick();
+    }
+    assertTrue(sim.getArrivals() > added / 2, "Most trips should have finished");
+    assertTrue(sim.getCars().size() < 100, sim.getCars().size() + " slots for " + added + " trips");
+  }
+
+  // Whether a car can start on the given edge and lane without landing on another
+  private static boolean isClear(NetworkSimulation sim, int edge, int lane) {
+    CarStore cars = sim.getCars();
+    for (int i = 0; i < cars.size(); i++) {
+      if (cars.getStatus(i) != CarStore.RETIRED && sim.getEdge(i) == edge
+          && cars.getY(i) == lane * LaneIndex.LANEWIDTH && cars.getX(i) < NetworkSimulation.MINGAP) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // No two cars on the same edge and lane closer than MINGAP
+  private static void assertGaps(NetworkSimulation sim) {
+    CarStore cars = sim.getCars();
+    for (int a = 0; a < cars.size(); a++) {
+      for (int b = a + 1; b < cars.size(); b++) {
+        if (cars.getStatus(a) == CarStore.RETIRED || cars.getStatus(b) == CarStore.RETIRED
+            || sim.getEdge(a) != sim.getEdge(b) || cars.getY(a) != cars.getY(b)) {
+          continue;
+        }
+        int gap = Math.abs(cars.getX(a) - cars.getX(b));
+        if (gap < NetworkSimulation.MINGAP) {
+          fail(String.format("t=%d s: cars %d and %d on edge %d are %d m apart", sim.getSeconds(), a, b,
+              sim.getEdge(a), gap));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * File: ReplayRunnerTest.java
+ * Date: 10/18/2026
+ * Author: Eric Sampson
+ * Purpose: Checks that a run with load generators, an exit, actuated signals and a green
+ *          wave replays identically from its event log, with the setup read from the header.
+ */
+
+package trafficsim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ReplayRunnerTest {
+  // Final fields
+  public static final int TICKS = 1800;
+
+  @Test
+  public void setupFromHeaderReplaysIdentically() throws IOException {
+    Path file = Files.createTempFile("trafficsim", ".events");
+    try {
+      EventLog.Setup setup = new EventLog.Setup(9, Arrays.asList("poisson:3", "burst:200:300"), 5000,
+          "actuated", 150);
+      SimulationEngine engine = new SimulationEngine(1);
+      engine.addDefaultScenario();
+      try (EventLog log = new EventLog(file, setup)) {
+        engine.setEventLog(log);
+        for (int i = 0; i < 5; i++) {
+          engine.addNextLight();
+          engine.addNextCar();
+        }
+        setup.applyGreenWave(engine);
+        setup.applyTo(engine);
+        engine.runTicks(TICKS / 2);
+        engine.addNextCar();
+        engine.runTicks(TICKS / 2);
+        log.record(engine.getSeconds() / SimulationEngine.TICKSECONDS, EventLog.Type.END, engine.stateHash());
+      }
+      engine.shutdown();
+
+      EventLog.Setup read = EventLog.readSetup(file);
+      assertEquals(setup.getLoadSpecs(), read.getLoadSpecs());
+      assertEquals("actuated", read.getSignals());
+      List<EventLog.Entry> entries = EventLog.read(file);
+      ReplayRunner runner = new ReplayRunner(1, read);
+      assertTrue(runner.replay(entries), "The replay should match the recorded END hash");
+    } finally {
+      Files.delete(file);
+    }
+  }
+}